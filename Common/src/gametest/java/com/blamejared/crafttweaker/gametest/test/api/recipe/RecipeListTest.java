@@ -0,0 +1,95 @@
+package com.blamejared.crafttweaker.gametest.test.api.recipe;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientAny;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientList;
+import com.blamejared.crafttweaker.api.recipe.RecipeList;
+import com.blamejared.crafttweaker.gametest.CraftTweakerGameTest;
+import com.blamejared.crafttweaker.gametest.framework.annotation.CraftTweakerGameTestHolder;
+import com.blamejared.crafttweaker.gametest.framework.annotation.TestModifier;
+import com.mojang.datafixers.util.Pair;
+import net.minecraft.core.NonNullList;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.CraftingRecipe;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.ShapelessRecipe;
+import net.minecraft.world.level.ItemLike;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@CraftTweakerGameTestHolder
+public class RecipeListTest implements CraftTweakerGameTest {
+    
+    private static final ItemLike[] OUTPUTS = {Items.STICK, Items.DIAMOND, Items.APPLE, Items.DIRT, Items.STONE};
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testBatchedOutputRemovalsMatchSequentialRemovals(GameTestHelper helper) {
+        
+        final List<Pair<IIngredient, Predicate<CraftingRecipe>>> removals = List.of(
+                removal(immutableStack(Items.STICK), recipe -> true),
+                removal(new IIngredientList(new IIngredient[] {immutableStack(Items.DIAMOND), immutableStack(Items.APPLE)}), recipe -> index(recipe) % 2 == 0),
+                removal(immutableStack(Items.DIAMOND), recipe -> index(recipe) % 3 == 0),
+                removal(immutableStack(Items.STONE), recipe -> false),
+                removal(IIngredientAny.getInstance(), recipe -> index(recipe) == 13)
+        );
+        
+        final RecipeList<CraftingRecipe> sequential = recipeList(40);
+        removals.forEach(it -> sequential.removeByOutput(it.getFirst(), it.getSecond()));
+        
+        final RecipeList<CraftingRecipe> batched = recipeList(40);
+        batched.removeByOutputs(removals);
+        
+        assertThat(batched.getRecipes().keySet(), is(sequential.getRecipes().keySet()));
+        assertThat(batched.getByName().keySet(), is(sequential.getByName().keySet()));
+        assertThat(batched.getRecipesByOutput(immutableStack(Items.DIAMOND)), is(sequential.getRecipesByOutput(immutableStack(Items.DIAMOND))));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testBatchedOutputRemovalsWithoutRemovalsKeepAllRecipes(GameTestHelper helper) {
+        
+        final RecipeList<CraftingRecipe> list = recipeList(10);
+        
+        list.removeByOutputs(List.of());
+        
+        assertThat(list.getSize(), is(10));
+    }
+    
+    private Pair<IIngredient, Predicate<CraftingRecipe>> removal(IIngredient output, Predicate<CraftingRecipe> recipePredicate) {
+        
+        return Pair.of(output, recipePredicate);
+    }
+    
+    private RecipeList<CraftingRecipe> recipeList(int size) {
+        
+        final Map<ResourceLocation, CraftingRecipe> recipes = new HashMap<>();
+        final Map<ResourceLocation, Recipe<?>> byName = new HashMap<>();
+        for(int i = 0; i < size; i++) {
+            final ResourceLocation id = new ResourceLocation("crafttweaker", "gametest_recipe_" + i);
+            final CraftingRecipe recipe = new ShapelessRecipe(id, "", new ItemStack(OUTPUTS[i % OUTPUTS.length]), NonNullList.of(Ingredient.EMPTY, Ingredient.of(Items.DIRT)));
+            recipes.put(id, recipe);
+            byName.put(id, recipe);
+        }
+        return new RecipeList<>(RecipeType.CRAFTING, recipes, byName);
+    }
+    
+    private static int index(Recipe<?> recipe) {
+        
+        final String path = recipe.getId().getPath();
+        return Integer.parseInt(path.substring(path.lastIndexOf('_') + 1));
+    }
+    
+}
@@ -0,0 +1,190 @@
+package com.blamejared.crafttweaker.gametest.test.api.recipe;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.bracket.custom.RecipeTypeBracketHandler;
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientList;
+import com.blamejared.crafttweaker.api.recipe.RecipeList;
+import com.blamejared.crafttweaker.api.recipe.component.BuiltinRecipeComponents;
+import com.blamejared.crafttweaker.api.recipe.component.IDecomposedRecipe;
+import com.blamejared.crafttweaker.api.recipe.component.IRecipeComponent;
+import com.blamejared.crafttweaker.api.recipe.handler.IRecipeHandler;
+import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
+import com.blamejared.crafttweaker.api.recipe.replacement.DescriptivePredicate;
+import com.blamejared.crafttweaker.api.recipe.replacement.DescriptiveUnaryOperator;
+import com.blamejared.crafttweaker.api.recipe.replacement.ITargetingStrategy;
+import com.blamejared.crafttweaker.api.recipe.replacement.ReplacementRequest;
+import com.blamejared.crafttweaker.api.util.GenericUtil;
+import com.blamejared.crafttweaker.api.util.IngredientUtil;
+import com.blamejared.crafttweaker.gametest.CraftTweakerGameTest;
+import com.blamejared.crafttweaker.gametest.framework.annotation.CraftTweakerGameTestHolder;
+import com.blamejared.crafttweaker.gametest.framework.annotation.TestModifier;
+import net.minecraft.core.NonNullList;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.ItemTags;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.CraftingRecipe;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.ShapelessRecipe;
+import net.minecraft.world.item.crafting.UpgradeRecipe;
+import net.minecraft.world.level.ItemLike;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@CraftTweakerGameTestHolder
+public class RecipeReferenceIndexTest implements CraftTweakerGameTest {
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testIndexedReplacementMatchesFullDecompositionForItems(GameTestHelper helper) {
+        
+        final RecipeList<CraftingRecipe> list = craftingList();
+        
+        assertThat(assertSameReplacements(list, immutableStack(Items.DIAMOND)).contains(id("diamond")), is(true));
+        assertThat(assertSameReplacements(list, immutableStack(Items.EMERALD)).isEmpty(), is(true));
+        assertSameReplacements(list, new IIngredientList(new IIngredient[] {immutableStack(Items.STICK), immutableStack(Items.APPLE)}));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testIndexedReplacementMatchesFullDecompositionForTags(GameTestHelper helper) {
+        
+        final RecipeList<CraftingRecipe> list = craftingList();
+        
+        assertThat(list.getRecipesReferencing(Set.of(Items.OAK_PLANKS)).contains(list.get(id("planks"))), is(true));
+        assertThat(list.getRecipesReferencing(Set.of(Items.BIRCH_LOG)).contains(list.get(id("logs"))), is(true));
+        assertSameReplacements(list, immutableStack(Items.OAK_PLANKS));
+        assertSameReplacements(list, immutableStack(Items.BIRCH_LOG));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testIndexedReplacementMatchesFullDecompositionForUnresolvedRecipes(GameTestHelper helper) {
+        
+        // The smithing handler does not opt into the index, so every smithing recipe is a candidate for every item
+        final RecipeList<UpgradeRecipe> list = smithingList();
+        
+        assertThat(list.getRecipesReferencing(Set.of(Items.EMERALD)).size(), is(list.getSize()));
+        assertThat(assertSameReplacements(list, immutableStack(Items.DIAMOND)).contains(id("smithing_diamond")), is(true));
+        assertThat(assertSameReplacements(list, immutableStack(Items.EMERALD)).isEmpty(), is(true));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testIndexFollowsRecipeListChanges(GameTestHelper helper) {
+        
+        final RecipeList<CraftingRecipe> list = craftingList();
+        final ResourceLocation id = id("changing");
+        
+        assertThat(list.getRecipesReferencing(Set.of(Items.EMERALD)).isEmpty(), is(true));
+        
+        list.add(id, shapeless(id, Items.DIRT, Ingredient.of(Items.EMERALD)));
+        
+        assertThat(list.getRecipesReferencing(Set.of(Items.EMERALD)).contains(list.get(id)), is(true));
+        
+        list.add(id, shapeless(id, Items.DIRT, Ingredient.of(Items.GOLD_INGOT)));
+        
+        assertThat(list.getRecipesReferencing(Set.of(Items.EMERALD)).isEmpty(), is(true));
+        assertThat(list.getRecipesReferencing(Set.of(Items.GOLD_INGOT)).contains(list.get(id)), is(true));
+        
+        list.remove(id);
+        
+        assertThat(list.getRecipesReferencing(Set.of(Items.GOLD_INGOT)).isEmpty(), is(true));
+        assertThat(list.getRecipesReferencing(Set.of(Items.DIRT)).size(), is(2));
+    }
+    
+    private <T extends Recipe<?>> Set<ResourceLocation> assertSameReplacements(RecipeList<T> list, IIngredient from) {
+        
+        final ReplacementRequest<IIngredient> request = request(from, immutableStack(Items.GOLD_BLOCK));
+        final Set<Item> items = IngredientUtil.reduceToItems(from).orElseThrow();
+        
+        final Set<ResourceLocation> full = replaced(list.getAllRecipes(), request);
+        final Set<ResourceLocation> indexed = replaced(list.getRecipesReferencing(items), request);
+        
+        assertThat("Replacing " + from.getCommandString(), indexed, is(full));
+        return full;
+    }
+    
+    private ReplacementRequest<IIngredient> request(IIngredient from, IIngredient to) {
+        
+        final IRecipeComponent<IIngredient> component = BuiltinRecipeComponents.Input.INGREDIENTS;
+        return new ReplacementRequest<>(
+                component,
+                ITargetingStrategy.find(ITargetingStrategy.DEFAULT_STRATEGY_ID),
+                DescriptivePredicate.matching(from, it -> component.match(from, it), from.getCommandString()),
+                DescriptiveUnaryOperator.of(it -> to, to.getCommandString())
+        );
+    }
+    
+    private Set<ResourceLocation> replaced(Collection<? extends Recipe<?>> recipes, ReplacementRequest<?> request) {
+        
+        final Set<ResourceLocation> ids = new HashSet<>();
+        for(final Recipe<?> recipe : recipes) {
+            if(decompose(recipe).map(request::applyRequest).orElse(false)) {
+                ids.add(recipe.getId());
+            }
+        }
+        return ids;
+    }
+    
+    private <C extends Container, T extends Recipe<C>> Optional<IDecomposedRecipe> decompose(T recipe) {
+        
+        final IRecipeHandler<T> handler = CraftTweakerAPI.getRegistry().getRecipeHandlerFor(recipe);
+        final IRecipeManager<? super T> manager = GenericUtil.uncheck(RecipeTypeBracketHandler.getOrDefault(recipe.getType()));
+        return handler.decompose(manager, recipe);
+    }
+    
+    private RecipeList<CraftingRecipe> craftingList() {
+        
+        final Map<ResourceLocation, CraftingRecipe> recipes = new HashMap<>();
+        final Map<ResourceLocation, Recipe<?>> byName = new HashMap<>();
+        put(recipes, byName, shapeless(id("diamond"), Items.DIRT, Ingredient.of(Items.DIAMOND), Ingredient.of(Items.STICK)));
+        put(recipes, byName, shapeless(id("apple"), Items.DIAMOND, Ingredient.of(Items.APPLE)));
+        put(recipes, byName, shapeless(id("stone"), Items.STICK, Ingredient.of(Items.STONE)));
+        put(recipes, byName, shapeless(id("choice"), Items.DIRT, Ingredient.of(Items.DIAMOND, Items.APPLE)));
+        put(recipes, byName, shapeless(id("planks"), Items.CHEST, Ingredient.of(ItemTags.PLANKS), Ingredient.of(Items.STICK)));
+        put(recipes, byName, shapeless(id("logs"), Items.CHARCOAL, Ingredient.of(ItemTags.LOGS)));
+        return new RecipeList<>(RecipeType.CRAFTING, recipes, byName);
+    }
+    
+    private RecipeList<UpgradeRecipe> smithingList() {
+        
+        final Map<ResourceLocation, UpgradeRecipe> recipes = new HashMap<>();
+        final Map<ResourceLocation, Recipe<?>> byName = new HashMap<>();
+        put(recipes, byName, new UpgradeRecipe(id("smithing_diamond"), Ingredient.of(Items.IRON_SWORD), Ingredient.of(Items.DIAMOND), new ItemStack(Items.DIAMOND_SWORD)));
+        put(recipes, byName, new UpgradeRecipe(id("smithing_netherite"), Ingredient.of(Items.DIAMOND_SWORD), Ingredient.of(Items.NETHERITE_INGOT), new ItemStack(Items.NETHERITE_SWORD)));
+        return new RecipeList<>(RecipeType.SMITHING, recipes, byName);
+    }
+    
+    private <T extends Recipe<?>> void put(Map<ResourceLocation, T> recipes, Map<ResourceLocation, Recipe<?>> byName, T recipe) {
+        
+        recipes.put(recipe.getId(), recipe);
+        byName.put(recipe.getId(), recipe);
+    }
+    
+    private CraftingRecipe shapeless(ResourceLocation id, ItemLike output, Ingredient... ingredients) {
+        
+        return new ShapelessRecipe(id, "", new ItemStack(output), NonNullList.of(Ingredient.EMPTY, ingredients));
+    }
+    
+    private static ResourceLocation id(String path) {
+        
+        return new ResourceLocation("crafttweaker", "gametest_reference_" + path);
+    }
+    
+}
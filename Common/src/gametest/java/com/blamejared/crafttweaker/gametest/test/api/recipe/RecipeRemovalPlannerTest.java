@@ -0,0 +1,155 @@
+package com.blamejared.crafttweaker.gametest.test.api.recipe;
+
+import com.blamejared.crafttweaker.api.action.recipe.ActionRemoveRecipeByModid;
+import com.blamejared.crafttweaker.api.action.recipe.ActionRemoveRecipeByName;
+import com.blamejared.crafttweaker.api.action.recipe.ActionRemoveRecipeByOutput;
+import com.blamejared.crafttweaker.api.action.recipe.ActionRemoveRecipeByRegex;
+import com.blamejared.crafttweaker.api.recipe.RecipeList;
+import com.blamejared.crafttweaker.api.recipe.RecipeRemovalPlanner;
+import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
+import com.blamejared.crafttweaker.gametest.CraftTweakerGameTest;
+import com.blamejared.crafttweaker.gametest.framework.annotation.CraftTweakerGameTestHolder;
+import com.blamejared.crafttweaker.gametest.framework.annotation.TestModifier;
+import net.minecraft.core.NonNullList;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.CraftingRecipe;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.ShapelessRecipe;
+import net.minecraft.world.level.ItemLike;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@CraftTweakerGameTestHolder
+public class RecipeRemovalPlannerTest implements CraftTweakerGameTest {
+    
+    private static final ItemLike[] OUTPUTS = {Items.STICK, Items.DIAMOND, Items.APPLE, Items.DIRT, Items.STONE};
+    private static final RecipeType<CraftingRecipe> TYPE = RecipeType.simple(new ResourceLocation("crafttweaker", "gametest_removal_planner"));
+    private static final String REGEX = "crafttweaker:gametest_recipe_1.*";
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testPlannedRemovalsMatchSequentialRemovals(GameTestHelper helper) {
+        
+        RecipeRemovalPlanner.reset();
+        final TestRecipeManager planned = new TestRecipeManager(40);
+        new ActionRemoveRecipeByName<>(planned, id(3)).apply();
+        new ActionRemoveRecipeByModid<>(planned, "gametest", path -> path.endsWith("_5")).apply();
+        new ActionRemoveRecipeByRegex<>(planned, REGEX, path -> path.endsWith("_12")).apply();
+        new ActionRemoveRecipeByOutput<>(planned, immutableStack(Items.DIAMOND)).apply();
+        RecipeRemovalPlanner.applyAll();
+        
+        final TestRecipeManager sequential = new TestRecipeManager(40);
+        final RecipeList<CraftingRecipe> list = sequential.getRecipeList();
+        list.remove(id(3));
+        list.removeByIdTest(id -> id.getNamespace().equals("gametest"), path -> path.endsWith("_5"));
+        list.removeByIdTest(id -> Pattern.compile(REGEX).matcher(id.toString()).matches(), path -> path.endsWith("_12"));
+        list.removeByOutput(immutableStack(Items.DIAMOND));
+        
+        assertThat(planned.getRecipes().keySet(), is(sequential.getRecipes().keySet()));
+        assertThat(planned.byName.keySet(), is(sequential.byName.keySet()));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testPlannedRemovalsAreOnlyAppliedWhenFlushed(GameTestHelper helper) {
+        
+        RecipeRemovalPlanner.reset();
+        final TestRecipeManager manager = new TestRecipeManager(10);
+        new ActionRemoveRecipeByName<>(manager, id(4)).apply();
+        new ActionRemoveRecipeByOutput<>(manager, immutableStack(Items.STICK)).apply();
+        
+        assertThat(manager.getRecipes().size(), is(10));
+        assertThat(RecipeRemovalPlanner.has(manager, id(4)), is(false));
+        assertThat(RecipeRemovalPlanner.has(manager, id(5)), is(false));
+        assertThat(RecipeRemovalPlanner.has(manager, id(6)), is(true));
+        
+        RecipeRemovalPlanner.applyAll();
+        
+        assertThat(manager.getRecipes().size(), is(7));
+        assertThat(manager.getRecipes().containsKey(id(4)), is(false));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testFailingRemovalOnlySkipsItself(GameTestHelper helper) {
+        
+        RecipeRemovalPlanner.reset();
+        final TestRecipeManager manager = new TestRecipeManager(10);
+        new ActionRemoveRecipeByModid<>(manager, "gametest", path -> {
+            throw new IllegalStateException("Failing on purpose");
+        }).apply();
+        new ActionRemoveRecipeByOutput<>(manager, immutableStack(Items.STICK)).apply();
+        
+        RecipeRemovalPlanner.applyAll();
+        
+        assertThat(manager.getRecipes().size(), is(8));
+        assertThat(manager.getRecipes().containsKey(id(1)), is(true));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testResetDiscardsPlannedRemovals(GameTestHelper helper) {
+        
+        final TestRecipeManager manager = new TestRecipeManager(10);
+        new ActionRemoveRecipeByOutput<>(manager, immutableStack(Items.STICK)).apply();
+        
+        RecipeRemovalPlanner.reset();
+        RecipeRemovalPlanner.applyAll();
+        
+        assertThat(manager.getRecipes().size(), is(10));
+    }
+    
+    private static ResourceLocation id(int index) {
+        
+        return new ResourceLocation(index % 2 == 0 ? "crafttweaker" : "gametest", "gametest_recipe_" + index);
+    }
+    
+    private static final class TestRecipeManager implements IRecipeManager<CraftingRecipe> {
+        
+        private final Map<ResourceLocation, CraftingRecipe> recipes;
+        private final Map<ResourceLocation, Recipe<?>> byName;
+        
+        TestRecipeManager(int size) {
+            
+            this.recipes = new HashMap<>();
+            this.byName = new HashMap<>();
+            for(int i = 0; i < size; i++) {
+                final ResourceLocation id = id(i);
+                final CraftingRecipe recipe = new ShapelessRecipe(id, "", new ItemStack(OUTPUTS[i % OUTPUTS.length]), NonNullList.of(Ingredient.EMPTY, Ingredient.of(Items.DIRT)));
+                this.recipes.put(id, recipe);
+                this.byName.put(id, recipe);
+            }
+        }
+        
+        @Override
+        public RecipeType<CraftingRecipe> getRecipeType() {
+            
+            return TYPE;
+        }
+        
+        @Override
+        public RecipeList<CraftingRecipe> getRecipeList() {
+            
+            return new RecipeList<>(TYPE, this.recipes, this.byName);
+        }
+        
+        @Override
+        public Map<ResourceLocation, CraftingRecipe> getRecipes() {
+            
+            return this.recipes;
+        }
+        
+    }
+    
+}
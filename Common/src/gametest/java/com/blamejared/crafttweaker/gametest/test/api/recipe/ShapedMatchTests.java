@@ -0,0 +1,182 @@
+package com.blamejared.crafttweaker.gametest.test.api.recipe;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.recipe.MirrorAxis;
+import com.blamejared.crafttweaker.api.recipe.type.CTShapedRecipeBase;
+import com.blamejared.crafttweaker.gametest.CraftTweakerGameTest;
+import com.blamejared.crafttweaker.gametest.framework.annotation.CraftTweakerGameTestHolder;
+import com.blamejared.crafttweaker.gametest.framework.annotation.TestModifier;
+import net.minecraft.core.NonNullList;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.ItemLike;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@CraftTweakerGameTestHolder
+public class ShapedMatchTests implements CraftTweakerGameTest {
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testPatternMatchesAtEveryOffset(GameTestHelper helper) {
+        
+        final CTShapedRecipeBase recipe = recipe(MirrorAxis.NONE, new IIngredient[][] {{immutableStack(Items.DIAMOND), immutableStack(Items.STICK)}});
+        
+        assertThat(recipe.matches(grid(Items.DIAMOND, Items.STICK), helper.getLevel()), is(true));
+        assertThat(recipe.matches(grid(null, Items.DIAMOND, Items.STICK), helper.getLevel()), is(true));
+        assertThat(recipe.matches(grid(null, null, null, null, Items.DIAMOND, Items.STICK), helper.getLevel()), is(true));
+        assertThat(recipe.matches(grid(null, null, null, null, null, null, null, Items.DIAMOND, Items.STICK), helper.getLevel()), is(true));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testPatternDoesNotWrapAcrossRows(GameTestHelper helper) {
+        
+        final CTShapedRecipeBase recipe = recipe(MirrorAxis.NONE, new IIngredient[][] {{immutableStack(Items.DIAMOND), immutableStack(Items.STICK)}});
+        
+        assertThat(recipe.matches(grid(null, null, Items.DIAMOND, Items.STICK), helper.getLevel()), is(false));
+        assertThat(recipe.matches(grid(Items.DIAMOND, null, null, Items.STICK), helper.getLevel()), is(false));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testEmptyCellsMustStayEmpty(GameTestHelper helper) {
+        
+        final CTShapedRecipeBase recipe = recipe(MirrorAxis.NONE, new IIngredient[][] {
+                {immutableStack(Items.DIAMOND), IItemStack.empty()},
+                {IItemStack.empty(), immutableStack(Items.STICK)}
+        });
+        
+        assertThat(recipe.matches(grid(Items.DIAMOND, null, null, null, Items.STICK), helper.getLevel()), is(true));
+        assertThat(recipe.matches(grid(null, null, null, null, Items.DIAMOND, null, null, null, Items.STICK), helper.getLevel()), is(true));
+        assertThat(recipe.matches(grid(Items.DIAMOND, Items.APPLE, null, null, Items.STICK), helper.getLevel()), is(false));
+        assertThat(recipe.matches(grid(Items.DIAMOND, null, null, Items.APPLE, Items.STICK), helper.getLevel()), is(false));
+        assertThat(recipe.matches(grid(Items.DIAMOND, null, null, null, Items.STICK, Items.APPLE), helper.getLevel()), is(false));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testMirroredShapesOnlyMatchWhenAllowed(GameTestHelper helper) {
+        
+        final CraftingContainer flippedRow = grid(Items.STICK, Items.DIAMOND);
+        final CraftingContainer flippedColumn = grid(Items.STICK, null, null, Items.DIAMOND);
+        
+        assertThat(recipe(MirrorAxis.NONE, row()).matches(flippedRow, helper.getLevel()), is(false));
+        assertThat(recipe(MirrorAxis.HORIZONTAL, row()).matches(flippedRow, helper.getLevel()), is(true));
+        assertThat(recipe(MirrorAxis.VERTICAL, row()).matches(flippedRow, helper.getLevel()), is(false));
+        assertThat(recipe(MirrorAxis.ALL, row()).matches(flippedRow, helper.getLevel()), is(true));
+        
+        assertThat(recipe(MirrorAxis.NONE, column()).matches(flippedColumn, helper.getLevel()), is(false));
+        assertThat(recipe(MirrorAxis.HORIZONTAL, column()).matches(flippedColumn, helper.getLevel()), is(false));
+        assertThat(recipe(MirrorAxis.VERTICAL, column()).matches(flippedColumn, helper.getLevel()), is(true));
+        assertThat(recipe(MirrorAxis.ALL, column()).matches(flippedColumn, helper.getLevel()), is(true));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testRemainingItemsFollowTheMirroredShape(GameTestHelper helper) {
+        
+        final CTShapedRecipeBase recipe = recipe(MirrorAxis.HORIZONTAL, new IIngredient[][] {{immutableStack(Items.MILK_BUCKET), immutableStack(Items.WHEAT)}});
+        final CraftingContainer container = grid(null, null, null, null, Items.WHEAT, Items.MILK_BUCKET);
+        
+        final NonNullList<ItemStack> remaining = recipe.getRemainingItems(container);
+        
+        assertThat(remaining.size(), is(container.getContainerSize()));
+        for(int slot = 0; slot < remaining.size(); slot++) {
+            assertThat("Remaining item in slot " + slot, remaining.get(slot).getItem(), is(slot == 5 ? Items.BUCKET : Items.AIR));
+        }
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testChangedGridIsMatchedAgain(GameTestHelper helper) {
+        
+        final CTShapedRecipeBase recipe = recipe(MirrorAxis.NONE, new IIngredient[][] {{immutableStack(Items.MILK_BUCKET), immutableStack(Items.WHEAT)}});
+        final CraftingContainer container = grid(Items.MILK_BUCKET, Items.WHEAT);
+        
+        assertThat(recipe.matches(container, helper.getLevel()), is(true));
+        
+        container.setItem(0, ItemStack.EMPTY);
+        container.setItem(1, ItemStack.EMPTY);
+        container.setItem(7, new ItemStack(Items.MILK_BUCKET));
+        container.setItem(8, new ItemStack(Items.WHEAT));
+        
+        assertThat(recipe.matches(container, helper.getLevel()), is(true));
+        assertThat(recipe.getRemainingItems(container).get(7).getItem(), is(Items.BUCKET));
+        assertThat(recipe.getRemainingItems(container).get(0).getItem(), is(Items.AIR));
+        
+        container.setItem(6, new ItemStack(Items.APPLE));
+        
+        assertThat(recipe.matches(container, helper.getLevel()), is(false));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testTagEditedInPlaceIsMatchedAgain(GameTestHelper helper) {
+        
+        final ItemStack required = new ItemStack(Items.DIAMOND);
+        required.getOrCreateTag().putInt("gametest", 1);
+        final CTShapedRecipeBase recipe = recipe(MirrorAxis.NONE, new IIngredient[][] {{immutableStack(required), immutableStack(Items.STICK)}});
+        final CraftingContainer container = grid(null, Items.STICK);
+        container.setItem(0, required.copy());
+        
+        assertThat(recipe.matches(container, helper.getLevel()), is(true));
+        
+        container.getItem(0).getOrCreateTag().putInt("gametest", 2);
+        
+        assertThat(recipe.matches(container, helper.getLevel()), is(false));
+        
+        container.getItem(0).getOrCreateTag().putInt("gametest", 1);
+        
+        assertThat(recipe.matches(container, helper.getLevel()), is(true));
+    }
+    
+    private IIngredient[][] row() {
+        
+        return new IIngredient[][] {{immutableStack(Items.DIAMOND), immutableStack(Items.STICK)}};
+    }
+    
+    private IIngredient[][] column() {
+        
+        return new IIngredient[][] {{immutableStack(Items.DIAMOND)}, {immutableStack(Items.STICK)}};
+    }
+    
+    private CTShapedRecipeBase recipe(MirrorAxis mirrorAxis, IIngredient[][] ingredients) {
+        
+        return new CTShapedRecipeBase("gametest_shaped", immutableStack(Items.DIRT), ingredients, mirrorAxis, null);
+    }
+    
+    private CraftingContainer grid(ItemLike... items) {
+        
+        final CraftingContainer container = new CraftingContainer(new DummyMenu(), 3, 3);
+        for(int slot = 0; slot < items.length; slot++) {
+            if(items[slot] != null) {
+                container.setItem(slot, new ItemStack(items[slot]));
+            }
+        }
+        return container;
+    }
+    
+    private static final class DummyMenu extends AbstractContainerMenu {
+        
+        DummyMenu() {
+            
+            super(null, -1);
+        }
+        
+        @Override
+        public boolean stillValid(Player player) {
+            
+            return false;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,173 @@
+package com.blamejared.crafttweaker.gametest.test.api.recipe;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientList;
+import com.blamejared.crafttweaker.api.recipe.type.CTShapelessRecipeBase;
+import com.blamejared.crafttweaker.gametest.CraftTweakerGameTest;
+import com.blamejared.crafttweaker.gametest.framework.annotation.CraftTweakerGameTestHolder;
+import com.blamejared.crafttweaker.gametest.framework.annotation.TestModifier;
+import net.minecraft.core.NonNullList;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.ItemLike;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@CraftTweakerGameTestHolder
+public class ShapelessMatchTests implements CraftTweakerGameTest {
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testDisjointIngredientsMatchInAnyOrder(GameTestHelper helper) {
+        
+        final CTShapelessRecipeBase recipe = recipe(immutableStack(Items.STICK), immutableStack(Items.DIAMOND));
+        
+        assertThat(recipe.matches(grid(Items.STICK, Items.DIAMOND), helper.getLevel()), is(true));
+        assertThat(recipe.matches(grid(Items.DIAMOND, Items.STICK), helper.getLevel()), is(true));
+        assertThat(recipe.matches(grid(null, Items.DIAMOND, null, null, Items.STICK), helper.getLevel()), is(true));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testMismatchedGridsDoNotMatch(GameTestHelper helper) {
+        
+        final CTShapelessRecipeBase recipe = recipe(immutableStack(Items.STICK), immutableStack(Items.DIAMOND));
+        
+        assertThat(recipe.matches(grid(Items.STICK), helper.getLevel()), is(false));
+        assertThat(recipe.matches(grid(Items.STICK, Items.STICK), helper.getLevel()), is(false));
+        assertThat(recipe.matches(grid(Items.STICK, Items.DIAMOND, Items.DIAMOND), helper.getLevel()), is(false));
+        assertThat(recipe.matches(grid(Items.STICK, Items.APPLE), helper.getLevel()), is(false));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testOverlappingIngredientsMatchRegardlessOfOrder(GameTestHelper helper) {
+        
+        // A first-fit assignment gives the oak planks to the list and is then left without planks for the second ingredient
+        final CTShapelessRecipeBase recipe = recipe(
+                anyOf(Items.OAK_PLANKS, Items.BIRCH_PLANKS),
+                immutableStack(Items.OAK_PLANKS)
+        );
+        
+        assertThat(recipe.matches(grid(Items.OAK_PLANKS, Items.BIRCH_PLANKS), helper.getLevel()), is(true));
+        assertThat(recipe.matches(grid(Items.BIRCH_PLANKS, Items.OAK_PLANKS), helper.getLevel()), is(true));
+        assertThat(recipe.matches(grid(Items.OAK_PLANKS, Items.OAK_PLANKS), helper.getLevel()), is(true));
+        assertThat(recipe.matches(grid(Items.BIRCH_PLANKS, Items.BIRCH_PLANKS), helper.getLevel()), is(false));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testChainedOverlapsMatch(GameTestHelper helper) {
+        
+        final CTShapelessRecipeBase recipe = recipe(
+                anyOf(Items.OAK_PLANKS, Items.BIRCH_PLANKS, Items.SPRUCE_PLANKS),
+                anyOf(Items.OAK_PLANKS, Items.BIRCH_PLANKS),
+                immutableStack(Items.OAK_PLANKS)
+        );
+        
+        assertThat(recipe.matches(grid(Items.OAK_PLANKS, Items.BIRCH_PLANKS, Items.SPRUCE_PLANKS), helper.getLevel()), is(true));
+        assertThat(recipe.matches(grid(Items.BIRCH_PLANKS, Items.OAK_PLANKS, Items.BIRCH_PLANKS), helper.getLevel()), is(true));
+        assertThat(recipe.matches(grid(Items.SPRUCE_PLANKS, Items.SPRUCE_PLANKS, Items.OAK_PLANKS), helper.getLevel()), is(false));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testRemainingItemsFollowTheMatchedSlots(GameTestHelper helper) {
+        
+        final CTShapelessRecipeBase recipe = recipe(immutableStack(Items.MILK_BUCKET), immutableStack(Items.WHEAT));
+        final CraftingContainer container = grid(Items.WHEAT, null, null, null, Items.MILK_BUCKET);
+        
+        final NonNullList<ItemStack> remaining = recipe.getRemainingItems(container);
+        
+        assertThat(remaining.size(), is(container.getContainerSize()));
+        for(int slot = 0; slot < remaining.size(); slot++) {
+            assertThat("Remaining item in slot " + slot, remaining.get(slot).getItem(), is(slot == 4 ? Items.BUCKET : Items.AIR));
+        }
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testRemainingItemsFollowTheMatchedSlotsWithOverlaps(GameTestHelper helper) {
+        
+        final CTShapelessRecipeBase recipe = recipe(
+                anyOf(Items.MILK_BUCKET, Items.WATER_BUCKET),
+                immutableStack(Items.MILK_BUCKET),
+                immutableStack(Items.WHEAT)
+        );
+        final CraftingContainer container = grid(Items.MILK_BUCKET, Items.WHEAT, Items.WATER_BUCKET);
+        
+        final NonNullList<ItemStack> remaining = recipe.getRemainingItems(container);
+        
+        assertThat(remaining.get(0).getItem(), is(Items.BUCKET));
+        assertThat(remaining.get(1).getItem(), is(Items.AIR));
+        assertThat(remaining.get(2).getItem(), is(Items.BUCKET));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testChangedGridIsMatchedAgain(GameTestHelper helper) {
+        
+        final CTShapelessRecipeBase recipe = recipe(immutableStack(Items.MILK_BUCKET), immutableStack(Items.WHEAT));
+        final CraftingContainer container = grid(Items.MILK_BUCKET, Items.WHEAT);
+        
+        assertThat(recipe.matches(container, helper.getLevel()), is(true));
+        
+        container.setItem(0, ItemStack.EMPTY);
+        container.setItem(3, new ItemStack(Items.MILK_BUCKET));
+        
+        assertThat(recipe.matches(container, helper.getLevel()), is(true));
+        assertThat(recipe.getRemainingItems(container).get(3).getItem(), is(Items.BUCKET));
+        assertThat(recipe.getRemainingItems(container).get(0).getItem(), is(Items.AIR));
+        
+        container.setItem(1, new ItemStack(Items.APPLE));
+        
+        assertThat(recipe.matches(container, helper.getLevel()), is(false));
+    }
+    
+    private CTShapelessRecipeBase recipe(IIngredient... ingredients) {
+        
+        return new CTShapelessRecipeBase("gametest_shapeless", immutableStack(Items.DIRT), ingredients, null);
+    }
+    
+    private IIngredient anyOf(ItemLike... items) {
+        
+        final IIngredient[] stacks = new IIngredient[items.length];
+        for(int i = 0; i < items.length; i++) {
+            stacks[i] = immutableStack(items[i]);
+        }
+        return new IIngredientList(stacks);
+    }
+    
+    private CraftingContainer grid(ItemLike... items) {
+        
+        final CraftingContainer container = new CraftingContainer(new DummyMenu(), 3, 3);
+        for(int slot = 0; slot < items.length; slot++) {
+            if(items[slot] != null) {
+                container.setItem(slot, new ItemStack(items[slot]));
+            }
+        }
+        return container;
+    }
+    
+    private static final class DummyMenu extends AbstractContainerMenu {
+        
+        DummyMenu() {
+            
+            super(null, -1);
+        }
+        
+        @Override
+        public boolean stillValid(Player player) {
+            
+            return false;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,125 @@
+package com.blamejared.crafttweaker.gametest.test.api.util;
+
+import com.blamejared.crafttweaker.api.data.IData;
+import com.blamejared.crafttweaker.api.data.converter.tag.TagToDataConverter;
+import com.blamejared.crafttweaker.api.util.PartialTagMatcher;
+import com.blamejared.crafttweaker.gametest.CraftTweakerGameTest;
+import com.blamejared.crafttweaker.gametest.framework.annotation.CraftTweakerGameTestHolder;
+import com.blamejared.crafttweaker.gametest.framework.annotation.TestModifier;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.TagParser;
+
+import java.util.Objects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@CraftTweakerGameTestHolder
+public class PartialTagMatcherTest implements CraftTweakerGameTest {
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testNestedCompounds(GameTestHelper helper) {
+        
+        assertMatches("{}", "{a: 1}", true);
+        assertMatches("{a: {b: 1}}", "{a: {b: 1, c: 2}, d: 3}", true);
+        assertMatches("{a: {b: 1}}", "{a: {b: 2}}", false);
+        assertMatches("{a: {b: 1}}", "{d: {b: 1}}", false);
+        assertMatches("{a: {b: {c: \"x\"}}}", "{a: {b: {c: \"x\", d: 1}}}", true);
+        assertAgrees("{a: \"b\"}", "{a: {b: 1}}");
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testLists(GameTestHelper helper) {
+        
+        assertMatches("{l: [1, 2]}", "{l: [3, 2, 1]}", true);
+        assertMatches("{l: [4]}", "{l: [1, 2]}", false);
+        assertMatches("{l: [{a: 1}]}", "{l: [{a: 1, b: 2}, {c: 3}]}", true);
+        assertMatches("{l: [{a: 2}]}", "{l: [{a: 1, b: 2}, {c: 3}]}", false);
+        assertAgrees("{l: 1}", "{l: [1, 2]}");
+        assertAgrees("{l: \"b\"}", "{l: [\"abc\", \"d\"]}");
+        assertAgrees("{l: [[1]]}", "{l: [[1, 2], [3]]}");
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testArrays(GameTestHelper helper) {
+        
+        assertMatches("{a: [B; 2b]}", "{a: [B; 1b, 2b, 3b]}", true);
+        assertMatches("{a: [B; 4b]}", "{a: [B; 1b, 2b, 3b]}", false);
+        assertMatches("{a: [I; 2, 3]}", "{a: [I; 1, 2, 3]}", true);
+        assertMatches("{a: [I; 4]}", "{a: [I; 1, 2, 3]}", false);
+        assertMatches("{a: [L; 2L]}", "{a: [L; 1L, 2L]}", true);
+        assertMatches("{a: [L; 3L]}", "{a: [L; 1L, 2L]}", false);
+        assertAgrees("{a: 2}", "{a: [I; 1, 2, 3]}");
+        assertAgrees("{a: 2b}", "{a: [L; 1L, 2L]}");
+        assertAgrees("{a: 2L}", "{a: [B; 1b, 2b]}");
+        assertAgrees("{a: \"2\"}", "{a: [I; 1, 2, 3]}");
+        assertAgrees("{a: [I; 2]}", "{a: [L; 1L, 2L]}");
+        assertAgrees("{a: [2]}", "{a: [I; 1, 2, 3]}");
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testStrings(GameTestHelper helper) {
+        
+        assertMatches("{s: \"bea\"}", "{s: \"beans\"}", true);
+        assertMatches("{s: \"ans\"}", "{s: \"beans\"}", true);
+        assertMatches("{s: \"x\"}", "{s: \"beans\"}", false);
+        assertMatches("{s: \"beans\"}", "{s: \"bea\"}", false);
+        assertAgrees("{s: 1}", "{s: \"a1b\"}");
+        assertAgrees("{s: \"1\"}", "{s: 1}");
+        assertAgrees("{s: \"s\"}", "{s: {s: 1}}");
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testMixedNumbers(GameTestHelper helper) {
+        
+        assertMatches("{n: 1}", "{n: 1}", true);
+        assertMatches("{n: 1}", "{n: 2}", false);
+        assertMatches("{n: 1b}", "{n: 1}", true);
+        assertMatches("{n: 1}", "{n: 1L}", true);
+        assertAgrees("{n: 1s}", "{n: 1b}");
+        assertAgrees("{n: 1.5d}", "{n: 1}");
+        assertAgrees("{n: 1}", "{n: 1.0f}");
+        assertAgrees("{n: 0.1f}", "{n: 0.1d}");
+        assertAgrees("{n: 0.1d}", "{n: 0.1f}");
+        assertAgrees("{n: 300}", "{n: 44b}");
+        assertAgrees("{n: 3000000000L}", "{n: -1294967296}");
+    }
+    
+    private void assertMatches(String partial, String actual, boolean expected) {
+        
+        assertThat("IData %s contains %s".formatted(actual, partial), dataContains(partial, actual), is(expected));
+        assertAgrees(partial, actual);
+    }
+    
+    private void assertAgrees(String partial, String actual) {
+        
+        final boolean matched = PartialTagMatcher.of(parse(partial)).matches(parse(actual));
+        assertThat("Matcher of %s against %s".formatted(partial, actual), matched, is(dataContains(partial, actual)));
+    }
+    
+    private boolean dataContains(String partial, String actual) {
+        
+        final IData partialData = Objects.requireNonNull(TagToDataConverter.convert(parse(partial)));
+        final IData actualData = Objects.requireNonNull(TagToDataConverter.convert(parse(actual)));
+        return actualData.contains(partialData);
+    }
+    
+    private CompoundTag parse(String snbt) {
+        
+        try {
+            return TagParser.parseTag(snbt);
+        } catch(CommandSyntaxException e) {
+            fail(e);
+            throw new IllegalStateException(e);
+        }
+    }
+    
+}
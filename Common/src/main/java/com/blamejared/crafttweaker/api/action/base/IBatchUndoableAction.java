@@ -0,0 +1,58 @@
+package com.blamejared.crafttweaker.api.action.base;
+
+import java.util.List;
+
+/**
+ * Represents an {@link IUndoableAction} whose rollback can be merged with the rollback of other actions that target the
+ * same object.
+ *
+ * <p>When rolling back actions, consecutive actions that belong to the same {@linkplain #undoBatchGroup() batch group}
+ * and have equal {@linkplain #undoTarget() targets} are collected together and undone with a single call to
+ * {@link #undoBatch(List)}, allowing implementations to perform a single bulk mutation instead of many small ones.</p>
+ *
+ * @since 10.1.0
+ */
+public interface IBatchUndoableAction extends IUndoableAction {
+    
+    /**
+     * Gets the object that is modified by this action and restored by its rollback.
+     *
+     * <p>Two actions can only be batched together if their targets are {@linkplain Object#equals(Object) equal}.</p>
+     *
+     * @return The target of the action.
+     *
+     * @since 10.1.0
+     */
+    Object undoTarget();
+    
+    /**
+     * Gets the group that identifies which actions know how to undo each other in a batch.
+     *
+     * @return The batch group of this action.
+     *
+     * @implSpec By default, only actions of the same class can be batched together.
+     * @since 10.1.0
+     */
+    default Object undoBatchGroup() {
+        
+        return this.getClass();
+    }
+    
+    /**
+     * Undoes all changes carried out by the given actions.
+     *
+     * <p>The batch contains this action as its first element, followed by all other actions in the same batch group
+     * with the same target. Actions are in the order in which they have to be rolled back, i.e. the most recently
+     * applied action comes first.</p>
+     *
+     * @param batch The actions to undo.
+     *
+     * @implSpec The default implementation undoes every action one by one.
+     * @since 10.1.0
+     */
+    default void undoBatch(final List<? extends IBatchUndoableAction> batch) {
+        
+        batch.forEach(IUndoableAction::undo);
+    }
+    
+}
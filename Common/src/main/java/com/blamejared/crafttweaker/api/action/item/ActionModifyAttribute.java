@@ -8,6 +8,8 @@ import com.blamejared.crafttweaker.api.zencode.IScriptLoadSource;
 import com.blamejared.crafttweaker.platform.Services;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 public class ActionModifyAttribute implements IUndoableAction {
@@ -25,7 +27,11 @@ public class ActionModifyAttribute implements IUndoableAction {
     public void apply() {
         
         Services.EVENT.getAttributeModifiers()
-                .computeIfAbsent(ingredient, ingredient1 -> new ArrayList<>())
+                .computeIfAbsent(ingredient, ingredient1 -> {
+                    final List<Consumer<ItemAttributeModifierBase>> consumers = new ArrayList<>();
+                    Services.EVENT.getAttributeModifierIndex().add(ingredient1, consumers);
+                    return consumers;
+                })
                 .add(consumer);
     }
     
@@ -38,9 +44,16 @@ public class ActionModifyAttribute implements IUndoableAction {
     @Override
     public void undo() {
         
-        Services.EVENT.getAttributeModifiers().keySet().stream().filter(ingredient::contains).forEach(key -> {
-            Services.EVENT.getAttributeModifiers().getOrDefault(key, new ArrayList<>()).removeIf(consumer::equals);
-        });
+        final Map<IIngredient, List<Consumer<ItemAttributeModifierBase>>> modifiers = Services.EVENT.getAttributeModifiers();
+        final List<IIngredient> keys = modifiers.keySet().stream().filter(ingredient::contains).toList();
+        for(final IIngredient key : keys) {
+            final List<Consumer<ItemAttributeModifierBase>> consumers = modifiers.get(key);
+            consumers.removeIf(consumer::equals);
+            if(consumers.isEmpty()) {
+                modifiers.remove(key);
+                Services.EVENT.getAttributeModifierIndex().remove(key, consumers);
+            }
+        }
     }
     
     @Override
@@ -46,6 +46,7 @@ public class ActionSetBurnTime implements IUndoableAction {
         Services.EVENT.getBurnTimes()
                 .getOrDefault(recipeType, List.of())
                 .removeIf(pair -> ingredient.contains(pair.getFirst()));
+        Services.EVENT.invalidateBurnTimes(recipeType);
     }
     
     @Override
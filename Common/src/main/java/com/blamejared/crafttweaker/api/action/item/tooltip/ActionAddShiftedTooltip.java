@@ -30,16 +30,22 @@ public class ActionAddShiftedTooltip extends ActionTooltipBase {
         };
     }
     
+    @Override
+    public ITooltipFunction getFunction() {
+        
+        return function;
+    }
+    
     @Override
     public void apply() {
         
-        getTooltip().add(function);
+        addTooltipFunction(function);
     }
     
     @Override
     public void undo() {
         
-        getTooltip().remove(function);
+        removeTooltipFunction(function);
     }
     
     @Override
@@ -20,16 +20,22 @@ public class ActionClearTooltip extends ActionTooltipBase {
         };
     }
     
+    @Override
+    public ITooltipFunction getFunction() {
+        
+        return function;
+    }
+    
     @Override
     public void apply() {
         
-        getTooltip().add(function);
+        addTooltipFunction(function);
     }
     
     @Override
     public void undo() {
         
-        getTooltip().remove(function);
+        removeTooltipFunction(function);
     }
     
     @Override
@@ -13,16 +13,22 @@ public class ActionModifyTooltip extends ActionTooltipBase {
         this.function = function;
     }
     
+    @Override
+    public ITooltipFunction getFunction() {
+        
+        return function;
+    }
+    
     @Override
     public void apply() {
         
-        getTooltip().add(function);
+        addTooltipFunction(function);
     }
     
     @Override
     public void undo() {
         
-        getTooltip().remove(function);
+        removeTooltipFunction(function);
     }
     
     @Override
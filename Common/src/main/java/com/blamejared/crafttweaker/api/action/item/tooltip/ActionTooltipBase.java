@@ -1,14 +1,20 @@
 package com.blamejared.crafttweaker.api.action.item.tooltip;
 
-import com.blamejared.crafttweaker.api.action.base.IUndoableAction;
+import com.blamejared.crafttweaker.api.action.base.IBatchUndoableAction;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
 import com.blamejared.crafttweaker.api.item.tooltip.ITooltipFunction;
 import com.blamejared.crafttweaker.api.zencode.IScriptLoadSource;
 import com.blamejared.crafttweaker.platform.Services;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
-public abstract class ActionTooltipBase implements IUndoableAction {
+public abstract class ActionTooltipBase implements IBatchUndoableAction {
     
     protected final IIngredient stack;
     
@@ -19,7 +25,58 @@ public abstract class ActionTooltipBase implements IUndoableAction {
     
     public LinkedList<ITooltipFunction> getTooltip() {
         
-        return Services.CLIENT.getTooltips().computeIfAbsent(stack, iItemStack -> new LinkedList<>());
+        return Services.CLIENT.getTooltips().computeIfAbsent(stack, iItemStack -> {
+            final LinkedList<ITooltipFunction> functions = new LinkedList<>();
+            Services.CLIENT.getTooltipIndex().add(iItemStack, functions);
+            return functions;
+        });
+    }
+    
+    protected void addTooltipFunction(ITooltipFunction function) {
+        
+        getTooltip().add(function);
+    }
+    
+    protected void removeTooltipFunction(ITooltipFunction function) {
+        
+        removeTooltipFunctions(functions -> functions.remove(function));
+    }
+    
+    public abstract ITooltipFunction getFunction();
+    
+    @Override
+    public Object undoTarget() {
+        
+        return stack;
+    }
+    
+    @Override
+    public Object undoBatchGroup() {
+        
+        return ActionTooltipBase.class;
+    }
+    
+    @Override
+    public void undoBatch(List<? extends IBatchUndoableAction> batch) {
+        
+        final Set<ITooltipFunction> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+        batch.forEach(action -> toRemove.add(((ActionTooltipBase) action).getFunction()));
+        removeTooltipFunctions(functions -> functions.removeIf(toRemove::contains));
+    }
+    
+    private void removeTooltipFunctions(Consumer<LinkedList<ITooltipFunction>> remover) {
+        
+        final Map<IIngredient, LinkedList<ITooltipFunction>> tooltips = Services.CLIENT.getTooltips();
+        final LinkedList<ITooltipFunction> functions = tooltips.get(stack);
+        if(functions == null) {
+            return;
+        }
+        
+        remover.accept(functions);
+        if(functions.isEmpty()) {
+            tooltips.remove(stack);
+            Services.CLIENT.getTooltipIndex().remove(stack, functions);
+        }
     }
     
     @Override
@@ -1,11 +1,12 @@
 package com.blamejared.crafttweaker.api.action.recipe;
 
+import com.blamejared.crafttweaker.api.recipe.RecipeRemovalPlanner;
 import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
 import net.minecraft.world.item.crafting.Recipe;
 
 import java.util.function.Predicate;
 
-public class ActionRemoveRecipeByModid<T extends Recipe<?>> extends ActionRecipeBase<T> {
+public class ActionRemoveRecipeByModid<T extends Recipe<?>> extends ActionRecipeBase<T> implements IPlannedRecipeRemoval {
     
     private final String modid;
     private final Predicate<String> exclude;
@@ -20,7 +21,7 @@ public class ActionRemoveRecipeByModid<T extends Recipe<?>> extends ActionRecipe
     @Override
     public void apply() {
         
-        getRecipeMutator().removeByIdTest(resourceLocation -> resourceLocation.getNamespace().equals(modid), exclude);
+        RecipeRemovalPlanner.removeByModid(getManager(), modid, exclude, this);
     }
     
     @Override
@@ -1,6 +1,7 @@
 package com.blamejared.crafttweaker.api.action.recipe;
 
 
+import com.blamejared.crafttweaker.api.recipe.RecipeRemovalPlanner;
 import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.crafting.Recipe;
@@ -9,7 +10,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 
-public class ActionRemoveRecipeByName<T extends Recipe<?>> extends ActionRecipeBase<T> {
+public class ActionRemoveRecipeByName<T extends Recipe<?>> extends ActionRecipeBase<T> implements IPlannedRecipeRemoval {
     
     private final ResourceLocation[] names;
     
@@ -29,7 +30,7 @@ public class ActionRemoveRecipeByName<T extends Recipe<?>> extends ActionRecipeB
     public void apply() {
     
         for(ResourceLocation name : names) {
-            getRecipeMutator().remove(name);
+            RecipeRemovalPlanner.removeByName(getManager(), name, this);
         }
     }
     
@@ -43,7 +44,7 @@ public class ActionRemoveRecipeByName<T extends Recipe<?>> extends ActionRecipeB
     public boolean validate(Logger logger) {
         boolean containsKey = true;
         for(ResourceLocation name : names) {
-            boolean contains = getRecipeMutator().has(name);
+            boolean contains = RecipeRemovalPlanner.has(getManager(), name);
             if(!contains) {
                 logger.warn("No recipe with type: '{}' and name: '{}'", getRecipeTypeName(), name);
                 containsKey = false;
@@ -2,11 +2,12 @@ package com.blamejared.crafttweaker.api.action.recipe;
 
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
 import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.recipe.RecipeRemovalPlanner;
 import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
 import net.minecraft.world.item.crafting.Recipe;
 import org.apache.logging.log4j.Logger;
 
-public class ActionRemoveRecipeByOutput<T extends Recipe<?>> extends ActionRemoveRecipe<T> {
+public class ActionRemoveRecipeByOutput<T extends Recipe<?>> extends ActionRemoveRecipe<T> implements IPlannedRecipeRemoval {
     
     private final IIngredient output;
     
@@ -17,6 +18,12 @@ public class ActionRemoveRecipeByOutput<T extends Recipe<?>> extends ActionRemov
         describeDefaultRemoval(output);
     }
     
+    @Override
+    public void apply() {
+        
+        RecipeRemovalPlanner.removeByOutput(getManager(), output, recipe -> true, this);
+    }
+    
     @Override
     public boolean validate(Logger logger) {
         
@@ -2,12 +2,13 @@ package com.blamejared.crafttweaker.api.action.recipe;
 
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
 import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.recipe.RecipeRemovalPlanner;
 import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Recipe;
 import org.apache.logging.log4j.Logger;
 
-public class ActionRemoveRecipeByOutputInput<T extends Recipe<?>> extends ActionRemoveRecipe<T> {
+public class ActionRemoveRecipeByOutputInput<T extends Recipe<?>> extends ActionRemoveRecipe<T> implements IPlannedRecipeRemoval {
     
     private final IIngredient output;
     private final IIngredient input;
@@ -30,6 +31,13 @@ public class ActionRemoveRecipeByOutputInput<T extends Recipe<?>> extends Action
         
     }
     
+    @Override
+    public void apply() {
+        
+        // The predicate checks the output again, but only for the recipes whose output could match
+        RecipeRemovalPlanner.removeByOutput(getManager(), output, removePredicate, this);
+    }
+    
     @Override
     public boolean validate(Logger logger) {
         
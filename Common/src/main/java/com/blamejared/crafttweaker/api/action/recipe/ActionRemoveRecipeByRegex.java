@@ -1,12 +1,13 @@
 package com.blamejared.crafttweaker.api.action.recipe;
 
+import com.blamejared.crafttweaker.api.recipe.RecipeRemovalPlanner;
 import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
 import net.minecraft.world.item.crafting.Recipe;
 
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
-public class ActionRemoveRecipeByRegex<T extends Recipe<?>> extends ActionRecipeBase<T> {
+public class ActionRemoveRecipeByRegex<T extends Recipe<?>> extends ActionRecipeBase<T> implements IPlannedRecipeRemoval {
     
     private final Pattern compiledPat;
     private final Predicate<String> exclude;
@@ -22,8 +23,8 @@ public class ActionRemoveRecipeByRegex<T extends Recipe<?>> extends ActionRecipe
     @Override
     public void apply() {
         
-        getRecipeMutator().removeByIdTest(resourceLocation -> compiledPat.matcher(resourceLocation.toString())
-                .matches(), exclude);
+        RecipeRemovalPlanner.removeByIdTest(getManager(), resourceLocation -> compiledPat.matcher(resourceLocation.toString())
+                .matches(), exclude, this);
     }
     
     @Override
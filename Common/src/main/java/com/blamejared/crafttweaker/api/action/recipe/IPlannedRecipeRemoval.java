@@ -0,0 +1,14 @@
+package com.blamejared.crafttweaker.api.action.recipe;
+
+import com.blamejared.crafttweaker.api.action.base.IAction;
+
+/**
+ * Represents an action that does not remove recipes when applied, but plans their removal through the
+ * {@link com.blamejared.crafttweaker.api.recipe.RecipeRemovalPlanner}.
+ *
+ * <p>Planned removals are carried out together right before the next action that is not a planned removal is applied,
+ * and at the end of the script run, so that actions applied later always see the recipes as already removed.</p>
+ *
+ * @since 10.1.0
+ */
+public interface IPlannedRecipeRemoval extends IAction {}
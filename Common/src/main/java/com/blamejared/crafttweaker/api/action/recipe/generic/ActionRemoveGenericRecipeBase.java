@@ -34,10 +34,15 @@ public abstract class ActionRemoveGenericRecipeBase extends ActionWholeRegistryB
     private int applyToRegistry(RecipeList<?> list) {
         
         final int initialSize = list.getSize();
-        list.removeByRecipeTest(this::shouldRemove);
+        removeFrom(list);
         return initialSize - list.getSize();
     }
     
+    protected void removeFrom(RecipeList<?> list) {
+        
+        list.removeByRecipeTest(this::shouldRemove);
+    }
+    
     protected abstract boolean shouldRemove(Recipe<?> recipe);
     
 }
@@ -3,6 +3,7 @@ package com.blamejared.crafttweaker.api.action.recipe.generic;
 
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
 import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.recipe.RecipeList;
 import net.minecraft.world.item.crafting.Recipe;
 
 public class ActionRemoveGenericRecipeByOutput extends ActionRemoveGenericRecipeBase {
@@ -20,6 +21,12 @@ public class ActionRemoveGenericRecipeByOutput extends ActionRemoveGenericRecipe
         return "Removing all recipes that output " + output.getCommandString();
     }
     
+    @Override
+    protected void removeFrom(RecipeList<?> list) {
+        
+        list.removeByOutput(output);
+    }
+    
     @Override
     protected boolean shouldRemove(Recipe<?> recipe) {
         
@@ -3,6 +3,8 @@ package com.blamejared.crafttweaker.api.action.recipe.replace;
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
 import com.blamejared.crafttweaker.api.action.base.IRuntimeAction;
 import com.blamejared.crafttweaker.api.bracket.custom.RecipeTypeBracketHandler;
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.recipe.component.BuiltinRecipeComponents;
 import com.blamejared.crafttweaker.api.recipe.component.IDecomposedRecipe;
 import com.blamejared.crafttweaker.api.recipe.handler.IRecipeHandler;
 import com.blamejared.crafttweaker.api.recipe.manager.GenericRecipesManager;
@@ -11,11 +13,16 @@ import com.blamejared.crafttweaker.api.recipe.replacement.IFilteringRule;
 import com.blamejared.crafttweaker.api.recipe.replacement.IReplacerRegistry;
 import com.blamejared.crafttweaker.api.recipe.replacement.ReplacementRequest;
 import com.blamejared.crafttweaker.api.util.GenericUtil;
+import com.blamejared.crafttweaker.api.util.IngredientUtil;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.Container;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.crafting.Recipe;
 
+import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Set;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -41,7 +48,7 @@ public final class ActionBatchReplacement implements IRuntimeAction {
     @Override
     public void apply() {
         
-        this.castFilters(GenericRecipesManager.INSTANCE.getAllRecipes().stream()).forEach(this::replace);
+        this.castFilters(this.candidates()).forEach(this::replace);
     }
     
     @Override
@@ -56,6 +63,50 @@ public final class ActionBatchReplacement implements IRuntimeAction {
         );
     }
     
+    private Stream<? extends Recipe<?>> candidates() {
+        
+        final Stream<Recipe<?>> recipes = GenericRecipesManager.INSTANCE.getAllRecipes().stream();
+        final Set<Item> items = this.referencedItems();
+        if(items == null) {
+            return recipes;
+        }
+        
+        // Only recipes that may reference one of the items can be affected, so the others are not decomposed at all
+        final Set<Recipe<?>> candidates = new ReferenceOpenHashSet<>();
+        GenericRecipesManager.INSTANCE.getAllManagers()
+                .forEach(it -> candidates.addAll(it.getRecipeList().getRecipesReferencing(items)));
+        return recipes.filter(candidates::contains);
+    }
+    
+    @Nullable
+    private Set<Item> referencedItems() {
+        
+        final Set<Item> items = new ReferenceOpenHashSet<>();
+        for(final ReplacementRequest<?> request : this.requests) {
+            final Set<Item> requestItems = referencedItems(request);
+            if(requestItems == null || requestItems.isEmpty()) {
+                return null;
+            }
+            items.addAll(requestItems);
+        }
+        return items;
+    }
+    
+    @Nullable
+    private static Set<Item> referencedItems(final ReplacementRequest<?> request) {
+        
+        // Ingredients and output items are the only components whose contents are exposed by the recipes themselves
+        if(request.component() != BuiltinRecipeComponents.Input.INGREDIENTS && request.component() != BuiltinRecipeComponents.Output.ITEMS) {
+            return null;
+        }
+        return request.target()
+                .oracle()
+                .filter(IIngredient.class::isInstance)
+                .map(IIngredient.class::cast)
+                .flatMap(IngredientUtil::reduceToItems)
+                .orElse(null);
+    }
+    
     private Stream<? extends Recipe<?>> castFilters(final Stream<? extends Recipe<?>> recipeStream) {
         
         return Stream.concat(this.registry.filters().stream(), this.targetingRules.stream())
@@ -1,5 +1,6 @@
 package com.blamejared.crafttweaker.api.action.tag.known;
 
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
 import com.blamejared.crafttweaker.api.tag.type.KnownTag;
 
 public class ActionKnownTagClear<T> extends ActionKnownTag<T> {
@@ -12,7 +13,9 @@ public class ActionKnownTagClear<T> extends ActionKnownTag<T> {
     @Override
     public void apply() {
         
+        CraftTweakerTagRegistry.INSTANCE.elementsRemoved(manager(), id(), tag());
         tag().clear();
+        CraftTweakerTagRegistry.INSTANCE.invalidate();
     }
     
     @Override
@@ -1,5 +1,6 @@
 package com.blamejared.crafttweaker.api.action.tag.known;
 
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
 import com.blamejared.crafttweaker.api.tag.type.KnownTag;
 import org.apache.logging.log4j.Logger;
 
@@ -16,6 +17,7 @@ public class ActionKnownTagCreate<T> extends ActionKnownTag<T> {
     public void apply() {
         
         manager().addTag(mcTag().id(), new ArrayList<>());
+        CraftTweakerTagRegistry.INSTANCE.invalidate();
     }
     
     @Override
@@ -1,6 +1,8 @@
 package com.blamejared.crafttweaker.api.action.tag.known;
 
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
 import com.blamejared.crafttweaker.api.tag.type.KnownTag;
+import net.minecraft.core.Holder;
 
 import java.util.List;
 
@@ -14,7 +16,10 @@ public class ActionKnownTagRemove<T> extends ActionKnownTagModify<T> {
     @Override
     public void apply() {
         
-        tag().removeAll(holderValues());
+        final List<Holder<T>> holders = holderValues();
+        tag().removeAll(holders);
+        CraftTweakerTagRegistry.INSTANCE.elementsRemoved(manager(), id(), holders);
+        CraftTweakerTagRegistry.INSTANCE.invalidate();
     }
     
     @Override
@@ -1,6 +1,8 @@
 package com.blamejared.crafttweaker.api.action.tag.unknown;
 
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
 import com.blamejared.crafttweaker.api.tag.type.UnknownTag;
+import net.minecraft.core.Holder;
 import net.minecraft.resources.ResourceLocation;
 
 import java.util.List;
@@ -15,7 +17,10 @@ public class ActionUnknownTagAdd extends ActionUnknownTagModify {
     @Override
     public void apply() {
         
-        tag().addAll(holderValues());
+        final List<Holder<?>> holders = holderValues();
+        tag().addAll(holders);
+        CraftTweakerTagRegistry.INSTANCE.elementsAdded(manager(), id(), holders);
+        CraftTweakerTagRegistry.INSTANCE.invalidate();
     }
     
     @Override
@@ -1,5 +1,6 @@
 package com.blamejared.crafttweaker.api.action.tag.unknown;
 
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
 import com.blamejared.crafttweaker.api.tag.type.UnknownTag;
 
 public class ActionUnknownTagClear extends ActionUnknownTag {
@@ -12,7 +13,9 @@ public class ActionUnknownTagClear extends ActionUnknownTag {
     @Override
     public void apply() {
         
+        CraftTweakerTagRegistry.INSTANCE.elementsRemoved(manager(), id(), tag());
         tag().clear();
+        CraftTweakerTagRegistry.INSTANCE.invalidate();
     }
     
     @Override
@@ -1,6 +1,8 @@
 package com.blamejared.crafttweaker.api.action.tag.unknown;
 
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
 import com.blamejared.crafttweaker.api.tag.type.UnknownTag;
+import net.minecraft.core.Holder;
 import net.minecraft.resources.ResourceLocation;
 
 import java.util.List;
@@ -15,7 +17,10 @@ public class ActionUnknownTagRemove extends ActionUnknownTagModify {
     @Override
     public void apply() {
         
-        tag().removeAll(holderValues());
+        final List<Holder<?>> holders = holderValues();
+        tag().removeAll(holders);
+        CraftTweakerTagRegistry.INSTANCE.elementsRemoved(manager(), id(), holders);
+        CraftTweakerTagRegistry.INSTANCE.invalidate();
     }
     
     @Override
@@ -0,0 +1,162 @@
+package com.blamejared.crafttweaker.api.ingredient;
+
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientList;
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.util.IngredientUtil;
+import com.mojang.datafixers.util.Pair;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A lookup table for the burn times that scripts assign to ingredients, compiled from the ordered list of
+ * {@code (ingredient, burn time)} pairs stored for a recipe type.
+ *
+ * <p>When multiple ingredients match the same stack, the burn time of the one that was added last wins. Ingredients
+ * whose match only depends on the item of the stack are resolved ahead of time into a primitive {@link Item} to burn
+ * time map, whereas all other ingredients are kept in ordered lists, bucketed by item where possible, and checked only
+ * if they were added after the best unconditional match.</p>
+ *
+ * <p>The index is immutable: it has to be rebuilt whenever the list it was built from changes.</p>
+ */
+public final class BurnTimeIndex {
+    
+    /**
+     * Returned by {@link #find(ItemStack)} when no ingredient matches the given stack.
+     */
+    public static final int NONE = Integer.MIN_VALUE;
+    
+    private record Entry(int ordinal, IIngredient ingredient, int burnTime) {}
+    
+    private static final List<Entry> NO_ENTRIES = List.of();
+    
+    private final Reference2IntMap<Item> plainBurnTimes;
+    private final Reference2IntMap<Item> plainOrdinals;
+    private final Map<Item, List<Entry>> conditional;
+    private final List<Entry> fallback;
+    
+    private BurnTimeIndex(final List<Pair<IIngredient, Integer>> burnTimes) {
+        
+        this.plainBurnTimes = new Reference2IntOpenHashMap<>();
+        this.plainOrdinals = new Reference2IntOpenHashMap<>();
+        this.plainOrdinals.defaultReturnValue(-1);
+        this.conditional = new Reference2ObjectOpenHashMap<>();
+        this.fallback = new ArrayList<>();
+        
+        for(int i = 0; i < burnTimes.size(); ++i) {
+            final Pair<IIngredient, Integer> pair = burnTimes.get(i);
+            this.add(i, pair.getFirst(), pair.getSecond());
+        }
+    }
+    
+    /**
+     * Compiles the given burn times into an index.
+     *
+     * @param burnTimes The burn times, in the order they were added.
+     *
+     * @return An index over the given burn times.
+     */
+    public static BurnTimeIndex of(final List<Pair<IIngredient, Integer>> burnTimes) {
+        
+        return new BurnTimeIndex(burnTimes);
+    }
+    
+    private void add(final int ordinal, final IIngredient ingredient, final int burnTime) {
+        
+        if(isPlain(ingredient)) {
+            for(final Item item : IngredientUtil.reduceToItems(ingredient).orElseThrow()) {
+                this.plainBurnTimes.put(item, burnTime);
+                this.plainOrdinals.put(item, ordinal);
+            }
+            return;
+        }
+        
+        final Entry entry = new Entry(ordinal, ingredient, burnTime);
+        final Set<Item> items = IngredientUtil.reduceToItems(ingredient).orElse(null);
+        if(items == null) {
+            this.fallback.add(entry);
+            return;
+        }
+        
+        for(final Item item : items) {
+            this.conditional.computeIfAbsent(item, it -> new ArrayList<>()).add(entry);
+        }
+    }
+    
+    /**
+     * Finds the burn time of the last ingredient matching the given stack.
+     *
+     * @param stack The stack whose burn time should be found.
+     *
+     * @return The burn time, or {@link #NONE} if no ingredient matches the stack.
+     */
+    public int find(final ItemStack stack) {
+        
+        if(stack.isEmpty()) {
+            return NONE;
+        }
+        
+        final Item item = stack.getItem();
+        final int plainOrdinal = this.plainOrdinals.getInt(item);
+        final List<Entry> bucket = this.conditional.getOrDefault(item, NO_ENTRIES);
+        final List<Entry> fallback = this.fallback;
+        
+        if(bucket.isEmpty() && fallback.isEmpty()) {
+            return plainOrdinal < 0 ? NONE : this.plainBurnTimes.getInt(item);
+        }
+        
+        // Walk both lists backwards by ordinal: the first match is the last one added, but only entries added after the
+        // best unconditional match can override it
+        IItemStack wrapped = null;
+        int i = bucket.size() - 1;
+        int j = fallback.size() - 1;
+        while(i >= 0 || j >= 0) {
+            final Entry next;
+            if(j < 0 || (i >= 0 && bucket.get(i).ordinal() > fallback.get(j).ordinal())) {
+                next = bucket.get(i--);
+            } else {
+                next = fallback.get(j--);
+            }
+            
+            if(next.ordinal() < plainOrdinal) {
+                break;
+            }
+            
+            if(wrapped == null) {
+                wrapped = IItemStack.of(stack);
+            }
+            if(next.ingredient().matches(wrapped)) {
+                return next.burnTime();
+            }
+        }
+        
+        return plainOrdinal < 0 ? NONE : this.plainBurnTimes.getInt(item);
+    }
+    
+    private static boolean isPlain(final IIngredient ingredient) {
+        
+        if(ingredient instanceof IItemStack stack) {
+            // Any stack with a count of one and no tag matches every stack of the same item, as long as damage
+            // cannot get in the way
+            final ItemStack internal = stack.getInternal();
+            return !internal.isEmpty() && internal.getCount() <= 1 && !internal.hasTag() && !internal.isDamageableItem();
+        }
+        if(ingredient instanceof IIngredientList list) {
+            for(final IIngredient child : list.getIngredients()) {
+                if(!isPlain(child)) {
+                    return false;
+                }
+            }
+            return list.getIngredients().length > 0;
+        }
+        return false;
+    }
+    
+}
@@ -0,0 +1,175 @@
+package com.blamejared.crafttweaker.api.ingredient;
+
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.util.IngredientUtil;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.item.Item;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An index that associates values to the {@link IIngredient} they were registered for, allowing to quickly find the
+ * values whose ingredient could match a given {@link Item}.
+ *
+ * <p>Ingredients that can be reduced to a finite, non-empty set of items through
+ * {@link IngredientUtil#reduceToItems(IIngredient)} are stored in a bucket for each of their items, whereas all other
+ * ingredients end up in a fallback list that is checked on every query. Candidates are always visited in the order they were added to the index.</p>
+ *
+ * <p>The index only narrows down the candidates: callers are still expected to check the ingredient against the stack,
+ * which {@link #forEachMatch(IItemStack, BiConsumer)} does automatically.</p>
+ *
+ * @param <T> The type of the values stored in the index.
+ */
+public final class IngredientItemIndex<T> {
+    
+    private final Map<Item, List<Entry<T>>> byItem;
+    private final List<Entry<T>> fallback;
+    private long nextOrdinal;
+    
+    public IngredientItemIndex() {
+        
+        this.byItem = new Reference2ObjectOpenHashMap<>();
+        this.fallback = new ArrayList<>();
+        this.nextOrdinal = 0;
+    }
+    
+    /**
+     * Adds a value for the given ingredient to the index.
+     *
+     * @param ingredient The ingredient the value is registered for.
+     * @param value      The value to add.
+     */
+    public void add(final IIngredient ingredient, final T value) {
+        
+        final Set<Item> items = reduce(ingredient);
+        final Entry<T> entry = new Entry<>(this.nextOrdinal++, ingredient, value, items == null ? null : items.toArray(Item[]::new));
+        
+        if(entry.items() == null) {
+            this.fallback.add(entry);
+            return;
+        }
+        
+        for(final Item item : entry.items()) {
+            this.byItem.computeIfAbsent(item, it -> new ArrayList<>()).add(entry);
+        }
+    }
+    
+    /**
+     * Removes the most recently added value that is equal to the given one and was registered for an ingredient equal to
+     * the given one.
+     *
+     * @param ingredient The ingredient the value was registered for.
+     * @param value      The value to remove.
+     *
+     * @return Whether a value was found and removed.
+     */
+    public boolean remove(final IIngredient ingredient, final T value) {
+        
+        final Set<Item> items = reduce(ingredient);
+        final List<Entry<T>> candidates = items == null ? this.fallback : this.byItem.get(items.iterator().next());
+        
+        if(candidates == null) {
+            return false;
+        }
+        
+        for(int i = candidates.size() - 1; i >= 0; --i) {
+            final Entry<T> entry = candidates.get(i);
+            if(!entry.ingredient().equals(ingredient) || !Objects.equals(entry.value(), value)) {
+                continue;
+            }
+            
+            if(entry.items() == null) {
+                candidates.remove(i);
+                return true;
+            }
+            
+            for(final Item item : entry.items()) {
+                final List<Entry<T>> bucket = this.byItem.get(item);
+                bucket.remove(entry);
+                if(bucket.isEmpty()) {
+                    this.byItem.remove(item);
+                }
+            }
+            return true;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Removes all values from the index.
+     */
+    public void clear() {
+        
+        this.byItem.clear();
+        this.fallback.clear();
+    }
+    
+    /**
+     * Checks whether the index contains no values.
+     *
+     * @return Whether the index contains no values.
+     */
+    public boolean isEmpty() {
+        
+        return this.byItem.isEmpty() && this.fallback.isEmpty();
+    }
+    
+    /**
+     * Visits, in insertion order, every value whose ingredient could match the given item.
+     *
+     * <p>The ingredients passed to the consumer have not been checked against any stack.</p>
+     *
+     * @param item     The item to find the candidates for.
+     * @param consumer The consumer that will be called for every candidate.
+     */
+    public void forEachCandidate(final Item item, final BiConsumer<IIngredient, T> consumer) {
+        
+        final List<Entry<T>> bucket = this.byItem.getOrDefault(item, List.of());
+        final List<Entry<T>> fallback = this.fallback;
+        
+        // Both lists are sorted by ordinal, so a simple merge keeps the insertion order
+        int i = 0;
+        int j = 0;
+        while(i < bucket.size() || j < fallback.size()) {
+            final Entry<T> next;
+            if(j >= fallback.size() || (i < bucket.size() && bucket.get(i).ordinal() < fallback.get(j).ordinal())) {
+                next = bucket.get(i++);
+            } else {
+                next = fallback.get(j++);
+            }
+            consumer.accept(next.ingredient(), next.value());
+        }
+    }
+    
+    /**
+     * Visits, in insertion order, every value whose ingredient matches the given stack.
+     *
+     * @param stack    The stack to find the matches for.
+     * @param consumer The consumer that will be called for every match.
+     */
+    public void forEachMatch(final IItemStack stack, final BiConsumer<IIngredient, T> consumer) {
+        
+        this.forEachCandidate(stack.getDefinition(), (ingredient, value) -> {
+            if(ingredient.matches(stack)) {
+                consumer.accept(ingredient, value);
+            }
+        });
+    }
+    
+    @Nullable
+    private static Set<Item> reduce(final IIngredient ingredient) {
+        
+        // Ingredients without items, such as empty lists, are kept with the fallback so that they can still be removed
+        return IngredientUtil.reduceToItems(ingredient).filter(items -> !items.isEmpty()).orElse(null);
+    }
+    
+    private record Entry<T>(long ordinal, IIngredient ingredient, T value, Item[] items) {}
+    
+}
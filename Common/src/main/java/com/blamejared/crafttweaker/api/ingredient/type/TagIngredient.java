@@ -3,6 +3,7 @@ package com.blamejared.crafttweaker.api.ingredient.type;
 import com.blamejared.crafttweaker.api.annotation.ZenRegister;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
 import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
 import com.blamejared.crafttweaker.api.tag.type.KnownTag;
 import com.blamejared.crafttweaker.natives.item.ExpandItem;
 import com.blamejared.crafttweaker_annotations.annotations.Document;
@@ -12,7 +13,7 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.item.crafting.Ingredient;
 import org.openzen.zencode.java.ZenCodeType;
 
-import java.util.Arrays;
+import java.util.Collection;
 
 @ZenRegister
 @ZenCodeType.Name("crafttweaker.api.ingredient.type.TagIngredient")
@@ -20,6 +21,7 @@ import java.util.Arrays;
 public class TagIngredient implements IIngredient {
     
     private final KnownTag<Item> internal;
+    private ItemsCache itemsCache;
     
     public TagIngredient(KnownTag<Item> internal) {
         
@@ -29,7 +31,12 @@ public class TagIngredient implements IIngredient {
     @Override
     public boolean matches(IItemStack stack, boolean ignoreDamage) {
         
-        return Arrays.stream(getItems()).anyMatch(item -> item.matches(stack, true));
+        if(stack.isEmpty()) {
+            return false;
+        }
+        // Damage and NBT are never part of a tag, so membership of the item is all that matters
+        final Collection<Holder<?>> holders = internal.getInternal();
+        return holders != null && holders.contains(stack.getDefinition().builtInRegistryHolder());
     }
     
     @Override
@@ -47,12 +54,18 @@ public class TagIngredient implements IIngredient {
     @Override
     public IItemStack[] getItems() {
         
-        return internal.getInternal()
-                .stream()
-                .map(o -> (Holder<Item>) o)
-                .map(Holder::value)
-                .map(ExpandItem::getDefaultInstance)
-                .toArray(IItemStack[]::new);
+        final int generation = CraftTweakerTagRegistry.INSTANCE.generation();
+        ItemsCache cache = this.itemsCache;
+        if(cache == null || cache.generation() != generation) {
+            final Collection<Holder<?>> holders = internal.getInternal();
+            final IItemStack[] items = holders == null ? new IItemStack[0] : holders.stream()
+                    .map(o -> (Holder<Item>) o)
+                    .map(Holder::value)
+                    .map(ExpandItem::getDefaultInstance)
+                    .toArray(IItemStack[]::new);
+            this.itemsCache = cache = new ItemsCache(generation, items);
+        }
+        return cache.items().clone();
     }
     
     @Override
@@ -61,4 +74,6 @@ public class TagIngredient implements IIngredient {
         return this.getCommandString();
     }
     
+    private record ItemsCache(int generation, IItemStack[] items) {}
+    
 }
@@ -1,13 +1,18 @@
 package com.blamejared.crafttweaker.api.loot.condition;
 
 import com.blamejared.crafttweaker.api.annotation.ZenRegister;
+import com.blamejared.crafttweaker.platform.Services;
 import com.blamejared.crafttweaker_annotations.annotations.Document;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.storage.loot.LootContext;
 import net.minecraft.world.level.storage.loot.predicates.LootItemCondition;
 import net.minecraft.world.level.storage.loot.predicates.LootItemConditions;
 import org.openzen.zencode.java.ZenCodeType;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 @ZenRegister
@@ -17,10 +22,19 @@ import java.util.function.Predicate;
 public class LootConditions {
     
     private final Predicate<LootContext> gather;
+    private final Predicate<ResourceLocation> tableIdFilter;
+    private final Predicate<LootContext> remaining;
     
     private LootConditions(final Predicate<LootContext> gather) {
         
+        this(gather, null, gather);
+    }
+    
+    private LootConditions(final Predicate<LootContext> gather, final Predicate<ResourceLocation> tableIdFilter, final Predicate<LootContext> remaining) {
+        
         this.gather = gather;
+        this.tableIdFilter = tableIdFilter;
+        this.remaining = remaining;
     }
     
     @ZenCodeType.Method
@@ -38,7 +52,9 @@ public class LootConditions {
     @ZenCodeType.Method
     public static LootConditions only(final LootItemCondition condition) {
         
-        return new LootConditions(condition);
+        return Services.PLATFORM.getLootTableIdFilter(condition)
+                .map(filter -> new LootConditions(condition, filter, it -> true))
+                .orElseGet(() -> new LootConditions(condition));
     }
     
     @ZenCodeType.Method
@@ -50,7 +66,23 @@ public class LootConditions {
     @ZenCodeType.Method
     public static LootConditions allOf(final LootItemCondition... conditions) {
         
-        return new LootConditions(LootItemConditions.andConditions(conditions));
+        // Loot table ID conditions are split off, since all of them need to hold for the whole set to hold
+        Predicate<ResourceLocation> tableIdFilter = null;
+        final List<LootItemCondition> remaining = new ArrayList<>(conditions.length);
+        for(final LootItemCondition condition : conditions) {
+            final Optional<Predicate<ResourceLocation>> filter = Services.PLATFORM.getLootTableIdFilter(condition);
+            if(filter.isEmpty()) {
+                remaining.add(condition);
+            } else {
+                tableIdFilter = tableIdFilter == null ? filter.get() : tableIdFilter.and(filter.get());
+            }
+        }
+        
+        final Predicate<LootContext> gather = LootItemConditions.andConditions(conditions);
+        if(tableIdFilter == null) {
+            return new LootConditions(gather);
+        }
+        return new LootConditions(gather, tableIdFilter, LootItemConditions.andConditions(remaining.toArray(LootItemCondition[]::new)));
     }
     
     @ZenCodeType.Method
@@ -102,6 +134,29 @@ public class LootConditions {
         return this.gather;
     }
     
+    /**
+     * Gets the constraint these conditions put on the ID of the loot table that is being rolled, if any.
+     *
+     * <p>The constraint only depends on the loot table ID, so it can be checked once per loot table instead of once
+     * per roll. If present, {@link #gatherRemaining()} has to be tested too for the conditions to hold.</p>
+     *
+     * @return The constraint on the loot table ID, if any.
+     */
+    public Optional<Predicate<ResourceLocation>> tableIdFilter() {
+        
+        return Optional.ofNullable(this.tableIdFilter);
+    }
+    
+    /**
+     * Gets the conditions that are not part of the {@linkplain #tableIdFilter() table ID constraint}.
+     *
+     * @return A predicate testing the remaining conditions.
+     */
+    public Predicate<LootContext> gatherRemaining() {
+        
+        return this.remaining;
+    }
+    
     private LootConditions flip() {
         
         return new LootConditions(this.gather.negate());
@@ -17,6 +17,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 /**
@@ -467,7 +469,31 @@ public final class CommonLootModifiers {
     @ZenCodeType.Method
     public static ILootModifier replaceAllWith(final Map<IIngredient, IItemStack> replacementMap) {
         
-        return chaining(replacementMap.entrySet().stream().map(it -> replaceWith(it.getKey(), it.getValue())));
+        // An empty replacement removes the target, exactly like in replaceWith
+        final List<Map.Entry<IIngredient, Optional<IItemStack>>> targets = replacementMap.entrySet()
+                .stream()
+                .filter(it -> !it.getKey().isEmpty())
+                .map(it -> Map.entry(it.getKey(), it.getValue().isEmpty() ? Optional.<IItemStack> empty() : Optional.of(it.getValue())))
+                .toList();
+        
+        if(targets.isEmpty()) {
+            return ILootModifier.DEFAULT;
+        }
+        
+        final LootTargetIndex<Optional<IItemStack>> index = LootTargetIndex.of(targets);
+        return (loot, context) -> replacingEach(loot, (stack, replaced) -> {
+            // Every target sees the result of the previous ones, as if they were chained
+            IItemStack current = stack;
+            int target = -1;
+            while((target = index.find(current, target, (it, replacement) -> true)) >= 0) {
+                final Optional<IItemStack> replacement = index.data(target);
+                if(replacement.isEmpty()) {
+                    return;
+                }
+                current = replacement.get().copy();
+            }
+            replaced.add(current);
+        });
     }
     
     /**
@@ -572,7 +598,19 @@ public final class CommonLootModifiers {
     @ZenCodeType.Method
     public static ILootModifier replaceAllStacksWith(final Map<IIngredientWithAmount, IItemStack> replacementMap) {
         
-        return chaining(replacementMap.entrySet().stream().map(it -> replaceStackWith(it.getKey(), it.getValue())));
+        // An empty replacement removes the target, exactly like in replaceStackWith
+        final List<Map.Entry<IIngredient, StackReplacement>> targets = replacementMap.entrySet()
+                .stream()
+                .filter(it -> !it.getKey().getIngredient().isEmpty() && it.getKey().getAmount() > 0)
+                .map(it -> Map.entry(it.getKey().getIngredient(), new StackReplacement(it.getKey().getAmount(), it.getValue().isEmpty() ? null : it.getValue())))
+                .toList();
+        
+        if(targets.isEmpty()) {
+            return ILootModifier.DEFAULT;
+        }
+        
+        final LootTargetIndex<StackReplacement> index = LootTargetIndex.of(targets);
+        return (loot, context) -> replacingEach(loot, (stack, replaced) -> replaceStack(index, stack, -1, replaced));
     }
     //endregion
     
@@ -612,7 +650,16 @@ public final class CommonLootModifiers {
     @ZenCodeType.Method
     public static ILootModifier removeAll(final IIngredient... targets) {
         
-        return chaining(Arrays.stream(targets).map(CommonLootModifiers::remove));
+        final List<IIngredient> toRemove = Arrays.stream(targets).filter(it -> !it.isEmpty()).toList();
+        if(toRemove.isEmpty()) {
+            return ILootModifier.DEFAULT;
+        }
+        
+        final LootTargetIndex<Void> index = LootTargetIndex.ofIngredients(toRemove);
+        return (loot, context) -> {
+            loot.removeIf(stack -> index.find(stack) >= 0);
+            return loot;
+        };
     }
     
     /**
@@ -661,6 +708,8 @@ public final class CommonLootModifiers {
     //endregion
     
     //region Private utility stuff
+    private record StackReplacement(int amount, IItemStack replacement) {}
+    
     private static boolean isInvalidChance(final Percentaged<IItemStack> stack) {
         
         return stack.getData().isEmpty() || stack.getPercentage() <= 0.0;
@@ -671,6 +720,52 @@ public final class CommonLootModifiers {
         return random.nextDouble() <= stack.getPercentage() ? stack.getData().copy() : null;
     }
     
+    private static List<IItemStack> replacingEach(final List<IItemStack> loot, final BiConsumer<IItemStack, List<IItemStack>> replacer) {
+        
+        // The loot is only copied once a stack actually gets replaced
+        List<IItemStack> newList = null;
+        final List<IItemStack> replaced = new ArrayList<>();
+        int i = 0;
+        for(final IItemStack stack : loot) {
+            replaced.clear();
+            replacer.accept(stack, replaced);
+            
+            if(newList == null) {
+                if(replaced.size() == 1 && replaced.get(0) == stack) {
+                    ++i;
+                    continue;
+                }
+                newList = new ArrayList<>(loot.subList(0, i));
+            }
+            newList.addAll(replaced);
+        }
+        
+        return newList == null ? loot : newList;
+    }
+    
+    private static void replaceStack(final LootTargetIndex<StackReplacement> index, final IItemStack stack, final int after, final List<IItemStack> replaced) {
+        
+        final int target = index.find(stack, after, (it, replacement) -> replacement.replacement() == null || it.getAmount() >= replacement.amount());
+        if(target < 0) {
+            replaced.add(stack);
+            return;
+        }
+        
+        final StackReplacement replacement = index.data(target);
+        if(replacement.replacement() == null) {
+            return;
+        }
+        
+        // Both parts of the split stack go through the remaining targets, as if they were chained
+        final int stackAmount = stack.getAmount();
+        final int newAmount = stackAmount / replacement.amount();
+        final int oldAmount = stackAmount % replacement.amount();
+        replaceStack(index, replacement.replacement().copy().setAmount(newAmount), target, replaced);
+        if(oldAmount > 0) {
+            replaceStack(index, stack.setAmount(oldAmount), target, replaced);
+        }
+    }
+    
     private static ILootModifier chaining(final Stream<ILootModifier> chain) {
         
         return chain.reduce(
@@ -0,0 +1,81 @@
+package com.blamejared.crafttweaker.api.loot.modifier;
+
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.loot.condition.LootConditions;
+import com.blamejared.crafttweaker.platform.Services;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.storage.loot.LootContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A loot modifier whose conditions restrict the loot tables it applies to.
+ *
+ * <p>The restriction only depends on the ID of the loot table, so its result is memoized per table: loot rolls of any
+ * other table skip the modifier right away, without evaluating any of its conditions or converting the loot.</p>
+ */
+final class FilteredLootModifier implements ILootModifier {
+    
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    
+    private final LootConditions conditions;
+    private final Predicate<ResourceLocation> tableIdFilter;
+    private final Map<ResourceLocation, Boolean> matchingTables;
+    private final ILootModifier modifier;
+    
+    private FilteredLootModifier(final LootConditions conditions, final Predicate<ResourceLocation> tableIdFilter, final ILootModifier modifier) {
+        
+        this.conditions = conditions;
+        this.tableIdFilter = tableIdFilter;
+        this.matchingTables = new ConcurrentHashMap<>();
+        this.modifier = modifier;
+    }
+    
+    static Optional<ILootModifier> of(final LootConditions conditions, final ILootModifier modifier) {
+        
+        return conditions.tableIdFilter().map(filter -> new FilteredLootModifier(conditions, filter, modifier));
+    }
+    
+    static LootModifierManager.FilterStatistics statistics() {
+        
+        return new LootModifierManager.FilterStatistics(HITS.sum(), MISSES.sum());
+    }
+    
+    @Override
+    public List<IItemStack> modify(final List<IItemStack> loot, final LootContext context) {
+        
+        final Optional<ResourceLocation> tableId = Services.PLATFORM.getQueriedLootTableId(context);
+        final boolean applies = tableId.isPresent() ?
+                this.appliesTo(tableId.get()) && this.conditions.gatherRemaining().test(context) :
+                this.conditions.gather().test(context);
+        return applies ? this.modifier.modify(loot, context) : loot;
+    }
+    
+    @Override
+    public ObjectArrayList<ItemStack> doApply(final ObjectArrayList<ItemStack> loot, final LootContext context) {
+        
+        final Optional<ResourceLocation> tableId = Services.PLATFORM.getQueriedLootTableId(context);
+        if(tableId.isPresent()) {
+            if(!this.appliesTo(tableId.get())) {
+                MISSES.increment();
+                return loot;
+            }
+            HITS.increment();
+        }
+        return ILootModifier.super.doApply(loot, context);
+    }
+    
+    private boolean appliesTo(final ResourceLocation tableId) {
+        
+        return this.matchingTables.computeIfAbsent(tableId, this.tableIdFilter::test);
+    }
+    
+}
@@ -39,6 +39,14 @@ import java.util.regex.Pattern;
 public enum LootModifierManager {
     INSTANCE;
     
+    /**
+     * Counts how many loot rolls ran or skipped a modifier based on the loot tables its conditions target.
+     *
+     * @param hits   The amount of times a modifier was run because its loot table filter matched.
+     * @param misses The amount of times a modifier was skipped because its loot table filter did not match.
+     */
+    public record FilterStatistics(long hits, long misses) {}
+    
     private final Supplier<Map<ResourceLocation, ILootModifier>> lootMap = Services.PLATFORM::getLootModifiersMap;
     
     /**
@@ -150,10 +158,21 @@ public enum LootModifierManager {
         CraftTweakerAPI.apply(new ActionRemoveLootModifier(null, entry -> true, this.lootMap));
     }
     
+    /**
+     * Gets how many loot rolls ran or skipped modifiers due to the loot tables their conditions target.
+     *
+     * @return The statistics of the loot table filters of all modifiers registered through this manager.
+     */
+    public FilterStatistics getFilterStatistics() {
+        
+        return FilteredLootModifier.statistics();
+    }
+    
     private Supplier<ILootModifier> buildModifierCreator(final LootConditions conditions, final ILootModifier modifier) {
         
         final Predicate<LootContext> condition = conditions.gather();
-        return () -> (loot, context) -> condition.test(context) ? modifier.modify(loot, context) : loot;
+        return () -> FilteredLootModifier.of(conditions, modifier)
+                .orElseGet(() -> (loot, context) -> condition.test(context) ? modifier.modify(loot, context) : loot);
     }
     
     private ResourceLocation fromName(final String name) {
@@ -0,0 +1,70 @@
+package com.blamejared.crafttweaker.api.loot.modifier;
+
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.storage.loot.LootContext;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs a chain of {@link ILootModifier}s on the loot generated by a loot table.
+ *
+ * <p>The generated loot is wrapped only once for the whole chain, and every modifier works on the list returned by the
+ * previous one. Once the chain has completed, the result is converted back to {@link ItemStack}s: stacks that were
+ * part of the generated loot are reused as they are, whereas every other stack is copied, since modifiers may freely
+ * return stacks that are referenced elsewhere.</p>
+ */
+public final class LootModifierPipeline {
+    
+    private LootModifierPipeline() {}
+    
+    /**
+     * Applies the given modifiers, in order, to the given loot.
+     *
+     * @param loot      The loot dropped by a loot table.
+     * @param context   The context that caused the loot table to drop the loot.
+     * @param modifiers The modifiers to apply.
+     *
+     * @return A list containing the modified loot.
+     */
+    public static ObjectArrayList<ItemStack> apply(final ObjectArrayList<ItemStack> loot, final LootContext context, final Iterable<? extends ILootModifier> modifiers) {
+        
+        final Iterator<? extends ILootModifier> iterator = modifiers.iterator();
+        if(!iterator.hasNext()) {
+            return loot;
+        }
+        
+        List<IItemStack> modified = wrap(loot);
+        while(iterator.hasNext()) {
+            modified = iterator.next().modify(modified, context);
+        }
+        return unwrap(loot, modified);
+    }
+    
+    private static List<IItemStack> wrap(final ObjectArrayList<ItemStack> loot) {
+        
+        final List<IItemStack> wrapped = new ArrayList<>(loot.size());
+        for(final ItemStack stack : loot) {
+            wrapped.add(IItemStack.of(stack));
+        }
+        return wrapped;
+    }
+    
+    private static ObjectArrayList<ItemStack> unwrap(final ObjectArrayList<ItemStack> original, final List<IItemStack> modified) {
+        
+        // Every original stack can be reused once: a second occurrence must be a copy, or the two would share state
+        final Set<ItemStack> reusable = new ReferenceOpenHashSet<>(original);
+        final ObjectArrayList<ItemStack> result = new ObjectArrayList<>(modified.size());
+        for(final IItemStack stack : modified) {
+            final ItemStack internal = stack.getInternal();
+            result.add(reusable.remove(internal) ? internal : stack.getImmutableInternal());
+        }
+        return result;
+    }
+    
+}
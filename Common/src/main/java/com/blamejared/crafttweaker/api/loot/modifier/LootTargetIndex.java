@@ -0,0 +1,130 @@
+package com.blamejared.crafttweaker.api.loot.modifier;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.util.IngredientUtil;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.item.Item;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * An ordered list of loot targets, indexed by the items they can match.
+ *
+ * <p>Targets whose ingredient can be reduced to a set of items are only checked against stacks of those items, while
+ * all other targets are checked against every stack. Lookups always respect the order in which targets were given, so
+ * that a set of targets behaves exactly like the same targets applied one after the other.</p>
+ *
+ * @param <T> The type of the data attached to every target.
+ */
+final class LootTargetIndex<T> {
+    
+    private static final int[] NO_TARGETS = new int[0];
+    
+    private final IIngredient[] ingredients;
+    private final List<T> data;
+    private final Map<Item, int[]> byItem;
+    private final int[] fallback;
+    
+    private LootTargetIndex(final IIngredient[] ingredients, final List<T> data) {
+        
+        this.ingredients = ingredients;
+        this.data = data;
+        
+        final Map<Item, IntList> byItem = new Reference2ObjectOpenHashMap<>();
+        final IntList fallback = new IntArrayList();
+        for(int i = 0; i < this.ingredients.length; ++i) {
+            final Set<Item> items = IngredientUtil.reduceToItems(this.ingredients[i]).orElse(null);
+            if(items == null) {
+                fallback.add(i);
+                continue;
+            }
+            for(final Item item : items) {
+                byItem.computeIfAbsent(item, it -> new IntArrayList()).add(i);
+            }
+        }
+        
+        this.byItem = new Reference2ObjectOpenHashMap<>(byItem.size());
+        byItem.forEach((item, indices) -> this.byItem.put(item, indices.toIntArray()));
+        this.fallback = fallback.toIntArray();
+    }
+    
+    static <T> LootTargetIndex<T> of(final List<? extends Map.Entry<? extends IIngredient, T>> targets) {
+        
+        return new LootTargetIndex<>(
+                targets.stream().map(Map.Entry::getKey).toArray(IIngredient[]::new),
+                targets.stream().map(Map.Entry::getValue).toList()
+        );
+    }
+    
+    static LootTargetIndex<Void> ofIngredients(final List<? extends IIngredient> targets) {
+        
+        return new LootTargetIndex<>(targets.toArray(IIngredient[]::new), Collections.nCopies(targets.size(), null));
+    }
+    
+    /**
+     * Finds the first target that matches the given stack.
+     *
+     * @param stack The stack to match.
+     *
+     * @return The index of the first matching target, or {@code -1} if there is none.
+     */
+    int find(final IItemStack stack) {
+        
+        return this.find(stack, -1, (it, data) -> true);
+    }
+    
+    /**
+     * Finds the first target after the given one that matches the given stack.
+     *
+     * @param stack  The stack to match.
+     * @param after  The index of the last target that was already considered, or {@code -1} to consider all targets.
+     * @param filter An additional check a target needs to pass, after its ingredient matched the stack.
+     *
+     * @return The index of the first matching target, or {@code -1} if there is none.
+     */
+    int find(final IItemStack stack, final int after, final BiPredicate<IItemStack, T> filter) {
+        
+        final int[] bucket = this.byItem.getOrDefault(stack.getDefinition(), NO_TARGETS);
+        final int[] fallback = this.fallback;
+        
+        // Both arrays are sorted, so merging them keeps the targets in order
+        int i = firstAfter(bucket, after);
+        int j = firstAfter(fallback, after);
+        while(i < bucket.length || j < fallback.length) {
+            final int next;
+            if(j >= fallback.length || (i < bucket.length && bucket[i] < fallback[j])) {
+                next = bucket[i++];
+            } else {
+                next = fallback[j++];
+            }
+            
+            if(this.ingredients[next].matches(stack) && filter.test(stack, this.data.get(next))) {
+                return next;
+            }
+        }
+        
+        return -1;
+    }
+    
+    T data(final int index) {
+        
+        return this.data.get(index);
+    }
+    
+    private static int firstAfter(final int[] indices, final int after) {
+        
+        int i = 0;
+        while(i < indices.length && indices[i] <= after) {
+            ++i;
+        }
+        return i;
+    }
+    
+}
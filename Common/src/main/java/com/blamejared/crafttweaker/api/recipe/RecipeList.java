@@ -3,15 +3,23 @@ package com.blamejared.crafttweaker.api.recipe;
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
 import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.util.IngredientUtil;
+import com.mojang.datafixers.util.Pair;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.item.crafting.RecipeType;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
 /**
@@ -48,9 +56,40 @@ public class RecipeList<T extends Recipe<?>> {
      */
     public List<T> getRecipesByOutput(IIngredient output) {
         
-        return getRecipes().values()
+        final Set<Item> items = IngredientUtil.reduceToItems(output).orElse(null);
+        if(items == null) {
+            return getRecipes().values()
+                    .stream()
+                    .filter(iRecipe -> outputMatches(output, iRecipe))
+                    .toList();
+        }
+        
+        return RecipeOutputIndex.of(recipes)
+                .find(items)
                 .stream()
-                .filter(iRecipe -> output.matches(IItemStack.ofMutable(iRecipe.getResultItem())))
+                .map(recipes::get)
+                .filter(Objects::nonNull)
+                .filter(iRecipe -> outputMatches(output, iRecipe))
+                .toList();
+    }
+    
+    /**
+     * Gets the recipes that may reference any of the given items, either through their ingredients or their output.
+     *
+     * <p>The returned recipes are only candidates: recipes whose ingredients cannot be resolved to items are always
+     * returned, and recipes that are returned still have to be checked for the items they actually use.</p>
+     *
+     * @param items The items to look for.
+     *
+     * @return A List of the recipes that may reference any of the given items.
+     */
+    public List<T> getRecipesReferencing(Set<Item> items) {
+        
+        return RecipeReferenceIndex.of(recipes)
+                .find(items)
+                .stream()
+                .map(recipes::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
     
@@ -129,6 +168,15 @@ public class RecipeList<T extends Recipe<?>> {
         
         recipes.put(id, recipe);
         byName.put(id, recipe);
+        
+        final RecipeOutputIndex<T> index = RecipeOutputIndex.ifBuilt(recipes);
+        if(index != null) {
+            index.add(id, recipe);
+        }
+        final RecipeReferenceIndex<T> referenceIndex = RecipeReferenceIndex.ifBuilt(recipes);
+        if(referenceIndex != null) {
+            referenceIndex.add(id, recipe);
+        }
     }
     
     
@@ -141,27 +189,116 @@ public class RecipeList<T extends Recipe<?>> {
         
         recipes.remove(id);
         byName.remove(id);
+        
+        final RecipeOutputIndex<T> index = RecipeOutputIndex.ifBuilt(recipes);
+        if(index != null) {
+            index.remove(id);
+        }
+        final RecipeReferenceIndex<T> referenceIndex = RecipeReferenceIndex.ifBuilt(recipes);
+        if(referenceIndex != null) {
+            referenceIndex.remove(id);
+        }
     }
     
     /**
-     * Removes recipes that pass the given recipe Predicate
+     * Removes recipes whose output matches the given IIngredient.
      *
-     * @param recipePredicate The predicate to check the recipes against.
+     * @param output The output of the recipes to remove.
      */
-    public void removeByRecipeTest(Predicate<T> recipePredicate) {
+    public void removeByOutput(IIngredient output) {
         
-        Iterator<ResourceLocation> iterator = recipes.keySet().iterator();
+        removeByOutput(output, recipe -> true);
+    }
+    
+    /**
+     * Removes recipes whose output matches the given IIngredient and that pass the given recipe Predicate.
+     *
+     * <p>Unlike {@link #removeByRecipeTest(Predicate)}, only the recipes whose output could match are visited.</p>
+     *
+     * @param output          The output of the recipes to remove.
+     * @param recipePredicate The predicate to check the recipes whose output matches against.
+     */
+    public void removeByOutput(IIngredient output, Predicate<T> recipePredicate) {
         
-        while(iterator.hasNext()) {
-            ResourceLocation next = iterator.next();
-            T recipe = recipes.get(next);
-            if(recipePredicate.test(recipe)) {
-                byName.remove(next);
-                iterator.remove();
+        final Set<Item> items = IngredientUtil.reduceToItems(output).orElse(null);
+        if(items == null) {
+            removeByRecipeTest(recipe -> outputMatches(output, recipe) && recipePredicate.test(recipe));
+            return;
+        }
+        
+        for(ResourceLocation id : RecipeOutputIndex.of(recipes).find(items)) {
+            T recipe = recipes.get(id);
+            if(recipe != null && outputMatches(output, recipe) && recipePredicate.test(recipe)) {
+                remove(id);
+            }
+        }
+    }
+    
+    /**
+     * Removes recipes whose output matches any of the given IIngredients and that pass the recipe Predicate paired with
+     * it.
+     *
+     * <p>The result is the same as calling {@link #removeByOutput(IIngredient, Predicate)} for every pair, but every
+     * recipe whose output could match is only visited once, no matter how many pairs are given.</p>
+     *
+     * @param removals The outputs of the recipes to remove, each paired with the predicate to check the recipes whose
+     *                 output matches against.
+     */
+    public void removeByOutputs(List<Pair<IIngredient, Predicate<T>>> removals) {
+        
+        final Map<Item, List<Predicate<T>>> removalsByItem = new Reference2ObjectOpenHashMap<>();
+        final List<Predicate<T>> unresolved = new ArrayList<>();
+        for(Pair<IIngredient, Predicate<T>> removal : removals) {
+            final IIngredient output = removal.getFirst();
+            final Predicate<T> recipePredicate = removal.getSecond();
+            final Predicate<T> test = recipe -> outputMatches(output, recipe) && recipePredicate.test(recipe);
+            IngredientUtil.reduceToItems(output).ifPresentOrElse(
+                    items -> items.forEach(item -> removalsByItem.computeIfAbsent(item, it -> new ArrayList<>()).add(test)),
+                    () -> unresolved.add(test)
+            );
+        }
+        
+        removeByOutputItem(removalsByItem);
+        if(!unresolved.isEmpty()) {
+            removeByRecipeTest(recipe -> unresolved.stream().anyMatch(it -> it.test(recipe)));
+        }
+    }
+    
+    /**
+     * Removes recipes that pass any of the Predicates given for the item of their output, visiting every candidate
+     * recipe of the output index once.
+     *
+     * @param removalsByItem The predicates to check the recipes against, by the item of the output they apply to.
+     */
+    void removeByOutputItem(Map<Item, ? extends Collection<? extends Predicate<T>>> removalsByItem) {
+        
+        if(removalsByItem.isEmpty()) {
+            return;
+        }
+        
+        for(ResourceLocation id : RecipeOutputIndex.of(recipes).find(removalsByItem.keySet())) {
+            T recipe = recipes.get(id);
+            if(recipe == null) {
+                continue;
+            }
+            
+            final Collection<? extends Predicate<T>> removals = removalsByItem.get(recipe.getResultItem().getItem());
+            if(removals != null && removals.stream().anyMatch(it -> it.test(recipe))) {
+                remove(id);
             }
         }
     }
     
+    /**
+     * Removes recipes that pass the given recipe Predicate
+     *
+     * @param recipePredicate The predicate to check the recipes against.
+     */
+    public void removeByRecipeTest(Predicate<T> recipePredicate) {
+        
+        removeMatching((id, recipe) -> recipePredicate.test(recipe));
+    }
+    
     /**
      * Removes recipes that pass the given id Predicate.
      *
@@ -180,13 +317,31 @@ public class RecipeList<T extends Recipe<?>> {
      */
     public void removeByIdTest(Predicate<ResourceLocation> idPredicate, Predicate<String> exclusions) {
         
-        Iterator<ResourceLocation> iterator = recipes.keySet().iterator();
+        removeMatching((id, recipe) -> idPredicate.test(id) && !exclusions.test(id.getPath()));
+    }
+    
+    /**
+     * Removes recipes that pass the given Predicate, in a single pass over the recipes.
+     *
+     * @param predicate The predicate to check the recipe ids and recipes against.
+     */
+    void removeMatching(BiPredicate<ResourceLocation, T> predicate) {
+        
+        final RecipeOutputIndex<T> index = RecipeOutputIndex.ifBuilt(recipes);
+        final RecipeReferenceIndex<T> referenceIndex = RecipeReferenceIndex.ifBuilt(recipes);
+        Iterator<Map.Entry<ResourceLocation, T>> iterator = recipes.entrySet().iterator();
         
         while(iterator.hasNext()) {
-            ResourceLocation next = iterator.next();
-            if(idPredicate.test(next) && !exclusions.test(next.getPath())) {
-                byName.remove(next);
+            Map.Entry<ResourceLocation, T> next = iterator.next();
+            if(predicate.test(next.getKey(), next.getValue())) {
+                byName.remove(next.getKey());
                 iterator.remove();
+                if(index != null) {
+                    index.remove(next.getKey());
+                }
+                if(referenceIndex != null) {
+                    referenceIndex.remove(next.getKey());
+                }
             }
         }
     }
@@ -198,6 +353,15 @@ public class RecipeList<T extends Recipe<?>> {
         
         byName.keySet().removeAll(recipes.keySet());
         recipes.clear();
+        
+        final RecipeOutputIndex<T> index = RecipeOutputIndex.ifBuilt(recipes);
+        if(index != null) {
+            index.clear();
+        }
+        final RecipeReferenceIndex<T> referenceIndex = RecipeReferenceIndex.ifBuilt(recipes);
+        if(referenceIndex != null) {
+            referenceIndex.clear();
+        }
     }
     
     /**
@@ -240,4 +404,9 @@ public class RecipeList<T extends Recipe<?>> {
         return getRecipes().size();
     }
     
+    static boolean outputMatches(IIngredient output, Recipe<?> recipe) {
+        
+        return output.matches(IItemStack.ofMutable(recipe.getResultItem()));
+    }
+    
 }
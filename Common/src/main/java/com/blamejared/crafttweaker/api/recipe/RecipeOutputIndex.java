@@ -0,0 +1,144 @@
+package com.blamejared.crafttweaker.api.recipe;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.crafting.Recipe;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Associates the recipes of a recipe map to the {@link Item} of their output, so that queries by output only have to
+ * look at the recipes that could possibly match.
+ *
+ * <p>{@link RecipeList} instances are created on demand, so indices are attached to the recipe map itself instead:
+ * they are built lazily the first time a map is queried by output and then kept up to date by every change made
+ * through a {@link RecipeList}. The recipe maps are replaced on every reload, so every reload builds its indices anew;
+ * recipes added or removed by other code directly through the map are caught by rebuilding the index whenever its
+ * size does not match the one of the map anymore. Maps are compared by identity and only weakly referenced, so the
+ * indices of the maps that are thrown away on reload are collected together with them.</p>
+ *
+ * <p>The index only narrows down the candidates: callers are still expected to check the output of every recipe.</p>
+ *
+ * @param <T> The base type of {@link Recipe} in the indexed map.
+ */
+final class RecipeOutputIndex<T extends Recipe<?>> {
+    
+    private static final Cache<Map<ResourceLocation, ?>, RecipeOutputIndex<?>> INDICES = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+    
+    private final Map<Item, Set<ResourceLocation>> byItem;
+    private final Map<ResourceLocation, Item> itemById;
+    
+    private RecipeOutputIndex(final Map<ResourceLocation, T> recipes) {
+        
+        this.byItem = new Reference2ObjectOpenHashMap<>();
+        this.itemById = new Object2ReferenceOpenHashMap<>();
+        recipes.forEach(this::add);
+    }
+    
+    /**
+     * Gets the index for the given recipe map, building it if it does not exist yet.
+     *
+     * @param recipes The recipe map.
+     * @param <T>     The base type of {@link Recipe} in the map.
+     *
+     * @return The index for the given recipe map.
+     */
+    @SuppressWarnings("unchecked")
+    static synchronized <T extends Recipe<?>> RecipeOutputIndex<T> of(final Map<ResourceLocation, T> recipes) {
+        
+        RecipeOutputIndex<T> index = (RecipeOutputIndex<T>) INDICES.getIfPresent(recipes);
+        if(index == null || index.itemById.size() != recipes.size()) {
+            index = new RecipeOutputIndex<>(recipes);
+            INDICES.put(recipes, index);
+        }
+        return index;
+    }
+    
+    /**
+     * Gets the index for the given recipe map, if it was already built.
+     *
+     * @param recipes The recipe map.
+     * @param <T>     The base type of {@link Recipe} in the map.
+     *
+     * @return The index for the given recipe map, or {@code null} if it was not built yet.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <T extends Recipe<?>> RecipeOutputIndex<T> ifBuilt(final Map<ResourceLocation, T> recipes) {
+        
+        return (RecipeOutputIndex<T>) INDICES.getIfPresent(recipes);
+    }
+    
+    /**
+     * Finds the ids of the recipes whose output is one of the given items, in the order they were indexed.
+     *
+     * @param items The items to look for.
+     *
+     * @return The ids of the candidate recipes.
+     */
+    synchronized List<ResourceLocation> find(final Set<Item> items) {
+        
+        final List<ResourceLocation> candidates = new ArrayList<>();
+        for(final Item item : items) {
+            final Set<ResourceLocation> ids = this.byItem.get(item);
+            if(ids != null) {
+                candidates.addAll(ids);
+            }
+        }
+        return candidates;
+    }
+    
+    /**
+     * Indexes the given recipe, replacing the recipe previously indexed with the same id, if any.
+     *
+     * @param id     The id of the recipe.
+     * @param recipe The recipe.
+     */
+    synchronized void add(final ResourceLocation id, final T recipe) {
+        
+        this.remove(id);
+        final Item item = recipe.getResultItem().getItem();
+        this.byItem.computeIfAbsent(item, it -> new ObjectLinkedOpenHashSet<>()).add(id);
+        this.itemById.put(id, item);
+    }
+    
+    /**
+     * Removes the recipe with the given id from the index.
+     *
+     * @param id The id of the recipe.
+     */
+    synchronized void remove(final ResourceLocation id) {
+        
+        final Item item = this.itemById.remove(id);
+        if(item == null) {
+            return;
+        }
+        
+        final Set<ResourceLocation> ids = this.byItem.get(item);
+        ids.remove(id);
+        if(ids.isEmpty()) {
+            this.byItem.remove(item);
+        }
+    }
+    
+    /**
+     * Removes every recipe from the index.
+     */
+    synchronized void clear() {
+        
+        this.byItem.clear();
+        this.itemById.clear();
+    }
+    
+}
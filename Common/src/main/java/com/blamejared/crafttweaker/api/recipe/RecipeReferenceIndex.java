@@ -0,0 +1,199 @@
+package com.blamejared.crafttweaker.api.recipe;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.recipe.handler.IRecipeHandler;
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Associates the recipes of a recipe map to every {@link Item} they reference, either through their ingredients or
+ * through their output, so that queries by item only have to look at the recipes that could possibly involve it.
+ *
+ * <p>Like {@link RecipeOutputIndex}, indices are attached to the recipe map itself: they are built lazily the first time
+ * a map is queried and then kept up to date by every change made through a {@link RecipeList}, and rebuilt when the
+ * size of the map does not match the index anymore. Since the items of an ingredient may come from tags, indices are
+ * also rebuilt whenever the {@linkplain CraftTweakerTagRegistry#generation() contents of tags} change.</p>
+ *
+ * <p>Only recipes whose {@link IRecipeHandler} {@linkplain IRecipeHandler#decomposesOnlyExposedIngredients() only
+ * decomposes} what {@link Recipe#getIngredients()} and {@link Recipe#getResultItem()} expose are resolved to items: any
+ * other handler may add ingredients of its own. Those recipes, as well as recipes with an ingredient that has no known
+ * items, are considered to reference every item. The index only narrows down the candidates: callers are still
+ * expected to check every recipe it returns.</p>
+ *
+ * @param <T> The base type of {@link Recipe} in the indexed map.
+ */
+final class RecipeReferenceIndex<T extends Recipe<?>> {
+    
+    private static final Cache<Map<ResourceLocation, ?>, RecipeReferenceIndex<?>> INDICES = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+    
+    private final int generation;
+    private final Map<Item, Set<ResourceLocation>> byItem;
+    private final Map<ResourceLocation, Set<Item>> itemsById;
+    private final Set<ResourceLocation> unresolved;
+    
+    private RecipeReferenceIndex(final Map<ResourceLocation, T> recipes) {
+        
+        this.generation = CraftTweakerTagRegistry.INSTANCE.generation();
+        this.byItem = new Reference2ObjectOpenHashMap<>();
+        this.itemsById = new Object2ObjectOpenHashMap<>();
+        this.unresolved = new ObjectLinkedOpenHashSet<>();
+        recipes.forEach(this::add);
+    }
+    
+    /**
+     * Gets the index for the given recipe map, building it if it does not exist yet or if it is out of date.
+     *
+     * @param recipes The recipe map.
+     * @param <T>     The base type of {@link Recipe} in the map.
+     *
+     * @return The index for the given recipe map.
+     */
+    @SuppressWarnings("unchecked")
+    static synchronized <T extends Recipe<?>> RecipeReferenceIndex<T> of(final Map<ResourceLocation, T> recipes) {
+        
+        RecipeReferenceIndex<T> index = (RecipeReferenceIndex<T>) INDICES.getIfPresent(recipes);
+        if(index == null || index.generation != CraftTweakerTagRegistry.INSTANCE.generation()
+                || index.itemsById.size() != recipes.size()) {
+            index = new RecipeReferenceIndex<>(recipes);
+            INDICES.put(recipes, index);
+        }
+        return index;
+    }
+    
+    /**
+     * Gets the index for the given recipe map, if it was already built.
+     *
+     * @param recipes The recipe map.
+     * @param <T>     The base type of {@link Recipe} in the map.
+     *
+     * @return The index for the given recipe map, or {@code null} if it was not built yet.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <T extends Recipe<?>> RecipeReferenceIndex<T> ifBuilt(final Map<ResourceLocation, T> recipes) {
+        
+        return (RecipeReferenceIndex<T>) INDICES.getIfPresent(recipes);
+    }
+    
+    /**
+     * Finds the ids of the recipes that may reference any of the given items.
+     *
+     * @param items The items to look for.
+     *
+     * @return The ids of the candidate recipes.
+     */
+    synchronized Set<ResourceLocation> find(final Set<Item> items) {
+        
+        final Set<ResourceLocation> candidates = new ObjectLinkedOpenHashSet<>(this.unresolved);
+        for(final Item item : items) {
+            final Set<ResourceLocation> ids = this.byItem.get(item);
+            if(ids != null) {
+                candidates.addAll(ids);
+            }
+        }
+        return candidates;
+    }
+    
+    /**
+     * Indexes the given recipe, replacing the recipe previously indexed with the same id, if any.
+     *
+     * @param id     The id of the recipe.
+     * @param recipe The recipe.
+     */
+    synchronized void add(final ResourceLocation id, final T recipe) {
+        
+        this.remove(id);
+        final Set<Item> items = referencedItems(recipe);
+        if(items == null) {
+            this.unresolved.add(id);
+            this.itemsById.put(id, Set.of());
+            return;
+        }
+        
+        for(final Item item : items) {
+            this.byItem.computeIfAbsent(item, it -> new ObjectLinkedOpenHashSet<>()).add(id);
+        }
+        this.itemsById.put(id, items);
+    }
+    
+    /**
+     * Removes the recipe with the given id from the index.
+     *
+     * @param id The id of the recipe.
+     */
+    synchronized void remove(final ResourceLocation id) {
+        
+        final Set<Item> items = this.itemsById.remove(id);
+        if(items == null) {
+            return;
+        }
+        
+        this.unresolved.remove(id);
+        for(final Item item : items) {
+            final Set<ResourceLocation> ids = this.byItem.get(item);
+            ids.remove(id);
+            if(ids.isEmpty()) {
+                this.byItem.remove(item);
+            }
+        }
+    }
+    
+    /**
+     * Removes every recipe from the index.
+     */
+    synchronized void clear() {
+        
+        this.byItem.clear();
+        this.itemsById.clear();
+        this.unresolved.clear();
+    }
+    
+    @Nullable
+    private static Set<Item> referencedItems(final Recipe<?> recipe) {
+        
+        if(!CraftTweakerAPI.getRegistry().getRecipeHandlerFor(recipe).decomposesOnlyExposedIngredients()) {
+            return null;
+        }
+        
+        final List<Ingredient> ingredients = recipe.getIngredients();
+        if(ingredients.isEmpty()) {
+            return null;
+        }
+        
+        final Set<Item> items = new ReferenceOpenHashSet<>();
+        for(final Ingredient ingredient : ingredients) {
+            // Empty slots of shaped recipes share this instance, any other ingredient without items is unknown
+            if(ingredient == Ingredient.EMPTY) {
+                continue;
+            }
+            
+            final ItemStack[] stacks = ingredient.getItems();
+            if(stacks.length == 0) {
+                return null;
+            }
+            for(final ItemStack stack : stacks) {
+                items.add(stack.getItem());
+            }
+        }
+        items.add(recipe.getResultItem().getItem());
+        return items;
+    }
+    
+}
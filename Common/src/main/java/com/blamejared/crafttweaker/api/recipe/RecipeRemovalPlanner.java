@@ -0,0 +1,314 @@
+package com.blamejared.crafttweaker.api.recipe;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.action.base.IAction;
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
+import com.blamejared.crafttweaker.api.util.IngredientUtil;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Collects the recipe removals requested while scripts run and carries them out together, instead of going through the
+ * recipes of a type once for every removal.
+ *
+ * <p>Removals are kept per {@link RecipeType} and are only carried out at well-defined points: right before an action
+ * that is not a {@linkplain com.blamejared.crafttweaker.api.action.recipe.IPlannedRecipeRemoval planned removal} is
+ * applied, when scripts read the recipes of a type through an {@link IRecipeManager}, and at the end of every script
+ * run. Plans are discarded when a run starts and when it ends, so they never outlive the run that made them. Since
+ * removals do not depend on each other, applying them together gives the same result as applying them one by one:
+ * removals by name are looked up directly, removals by output are grouped by the items they reduce to so that every
+ * candidate from the output index of the {@link RecipeList} is visited once, and all other removals are checked in a
+ * single pass over the recipes.</p>
+ *
+ * <p>Removals run outside the action that planned them, so any error they raise is logged along with the description
+ * of that action and only disables the removal that raised it.</p>
+ */
+public final class RecipeRemovalPlanner {
+    
+    private static final class Guarded<T> implements Predicate<T> {
+        
+        private final Predicate<T> predicate;
+        private final IAction source;
+        private boolean failed;
+        
+        Guarded(final Predicate<T> predicate, final IAction source) {
+            
+            this.predicate = predicate;
+            this.source = source;
+            this.failed = false;
+        }
+        
+        @Override
+        public boolean test(final T t) {
+            
+            if(this.failed) {
+                return false;
+            }
+            
+            try {
+                return this.predicate.test(t);
+            } catch(final RuntimeException e) {
+                this.failed = true;
+                CraftTweakerAPI.LOGGER.error("Unable to run action '{}' due to an error", this.source.describe(), e);
+                return false;
+            }
+        }
+        
+    }
+    
+    private record OutputRemoval<T extends Recipe<?>>(IIngredient output, Predicate<T> guard) implements Predicate<T> {
+        
+        OutputRemoval(final IIngredient output, final Predicate<T> recipePredicate, final IAction source) {
+            
+            this(output, new Guarded<>(recipe -> RecipeList.outputMatches(output, recipe) && recipePredicate.test(recipe), source));
+        }
+        
+        @Override
+        public boolean test(final T recipe) {
+            
+            return this.guard.test(recipe);
+        }
+        
+    }
+    
+    private static final class Plan<T extends Recipe<?>> {
+        
+        private final IRecipeManager<T> manager;
+        private final Set<ResourceLocation> names;
+        private final Map<String, List<Predicate<ResourceLocation>>> modidRemovals;
+        private final List<Predicate<ResourceLocation>> idPredicates;
+        private final List<OutputRemoval<T>> outputs;
+        private final Map<Item, List<OutputRemoval<T>>> outputsByItem;
+        private final List<OutputRemoval<T>> unresolvedOutputs;
+        private int indexedOutputs;
+        private int indexedGeneration;
+        
+        Plan(final IRecipeManager<T> manager) {
+            
+            this.manager = manager;
+            this.names = new ObjectOpenHashSet<>();
+            this.modidRemovals = new Object2ObjectOpenHashMap<>();
+            this.idPredicates = new ArrayList<>();
+            this.outputs = new ArrayList<>();
+            this.outputsByItem = new Reference2ObjectOpenHashMap<>();
+            this.unresolvedOutputs = new ArrayList<>();
+            this.indexedOutputs = 0;
+            this.indexedGeneration = CraftTweakerTagRegistry.INSTANCE.generation();
+        }
+        
+        /**
+         * Checks whether any removal that is not by name removes the given recipe.
+         *
+         * <p>Only the removals by output whose output may match the one of the recipe are checked, so that checking
+         * every recipe removed by name does not go through every removal by output.</p>
+         */
+        boolean removesOtherwise(final ResourceLocation id, final T recipe) {
+            
+            return this.removesId(id) || this.outputsFor(recipe).anyMatch(it -> it.test(recipe));
+        }
+        
+        void apply() {
+            
+            final RecipeList<T> list = this.manager.getRecipeList();
+            this.names.forEach(list::remove);
+            
+            this.indexOutputs();
+            list.removeByOutputItem(this.outputsByItem);
+            
+            // Outputs that cannot be reduced to items would scan all recipes anyway, so they join the single pass
+            final List<OutputRemoval<T>> scanned = this.unresolvedOutputs;
+            if(!this.modidRemovals.isEmpty() || !this.idPredicates.isEmpty() || !scanned.isEmpty()) {
+                list.removeMatching((id, recipe) -> this.removesId(id) || scanned.stream().anyMatch(it -> it.test(recipe)));
+            }
+        }
+        
+        private boolean removesId(final ResourceLocation id) {
+            
+            final List<Predicate<ResourceLocation>> byModid = this.modidRemovals.get(id.getNamespace());
+            if(byModid != null && byModid.stream().anyMatch(it -> it.test(id))) {
+                return true;
+            }
+            return this.idPredicates.stream().anyMatch(it -> it.test(id));
+        }
+        
+        private Stream<OutputRemoval<T>> outputsFor(final T recipe) {
+            
+            this.indexOutputs();
+            final List<OutputRemoval<T>> byItem = this.outputsByItem.getOrDefault(recipe.getResultItem().getItem(), List.of());
+            return Stream.concat(byItem.stream(), this.unresolvedOutputs.stream());
+        }
+        
+        private void indexOutputs() {
+            
+            // Tags may be reduced to different items once their contents change
+            final int generation = CraftTweakerTagRegistry.INSTANCE.generation();
+            if(generation != this.indexedGeneration) {
+                this.outputsByItem.clear();
+                this.unresolvedOutputs.clear();
+                this.indexedOutputs = 0;
+                this.indexedGeneration = generation;
+            }
+            
+            // Removals are only ever appended, so only the ones added since the last call have to be indexed
+            for(; this.indexedOutputs < this.outputs.size(); this.indexedOutputs++) {
+                final OutputRemoval<T> removal = this.outputs.get(this.indexedOutputs);
+                IngredientUtil.reduceToItems(removal.output()).ifPresentOrElse(
+                        items -> items.forEach(item -> this.outputsByItem.computeIfAbsent(item, it -> new ArrayList<>()).add(removal)),
+                        () -> this.unresolvedOutputs.add(removal)
+                );
+            }
+        }
+        
+    }
+    
+    private static final Map<RecipeType<?>, Plan<?>> PLANS = new Reference2ObjectLinkedOpenHashMap<>();
+    
+    private RecipeRemovalPlanner() {}
+    
+    /**
+     * Plans the removal of the recipe with the given name.
+     *
+     * @param manager The manager of the recipe.
+     * @param name    The name of the recipe to remove.
+     * @param source  The action planning the removal.
+     * @param <T>     The base type of {@link Recipe} of the manager.
+     *
+     * @see RecipeList#remove(ResourceLocation)
+     */
+    public static synchronized <T extends Recipe<?>> void removeByName(final IRecipeManager<T> manager, final ResourceLocation name, final IAction source) {
+        
+        planFor(manager).names.add(name);
+    }
+    
+    /**
+     * Plans the removal of the recipes whose id belongs to the given mod id.
+     *
+     * @param manager    The manager of the recipes.
+     * @param modid      The mod id of the recipes to remove.
+     * @param exclusions A predicate to exclude certain recipes from removal, by path.
+     * @param source     The action planning the removal.
+     * @param <T>        The base type of {@link Recipe} of the manager.
+     *
+     * @see RecipeList#removeByIdTest(Predicate, Predicate)
+     */
+    public static synchronized <T extends Recipe<?>> void removeByModid(final IRecipeManager<T> manager, final String modid, final Predicate<String> exclusions, final IAction source) {
+        
+        planFor(manager).modidRemovals.computeIfAbsent(modid, it -> new ArrayList<>())
+                .add(new Guarded<>(id -> !exclusions.test(id.getPath()), source));
+    }
+    
+    /**
+     * Plans the removal of the recipes whose id passes the given predicate.
+     *
+     * @param manager     The manager of the recipes.
+     * @param idPredicate The predicate to check the recipe ids against.
+     * @param exclusions  A predicate to exclude certain recipes from removal, by path.
+     * @param source      The action planning the removal.
+     * @param <T>         The base type of {@link Recipe} of the manager.
+     *
+     * @see RecipeList#removeByIdTest(Predicate, Predicate)
+     */
+    public static synchronized <T extends Recipe<?>> void removeByIdTest(final IRecipeManager<T> manager, final Predicate<ResourceLocation> idPredicate, final Predicate<String> exclusions, final IAction source) {
+        
+        planFor(manager).idPredicates.add(new Guarded<>(id -> idPredicate.test(id) && !exclusions.test(id.getPath()), source));
+    }
+    
+    /**
+     * Plans the removal of the recipes whose output matches the given ingredient and that pass the given predicate.
+     *
+     * @param manager         The manager of the recipes.
+     * @param output          The output of the recipes to remove.
+     * @param recipePredicate The predicate to check the recipes whose output matches against.
+     * @param source          The action planning the removal.
+     * @param <T>             The base type of {@link Recipe} of the manager.
+     *
+     * @see RecipeList#removeByOutput(IIngredient, Predicate)
+     */
+    public static synchronized <T extends Recipe<?>> void removeByOutput(final IRecipeManager<T> manager, final IIngredient output, final Predicate<T> recipePredicate, final IAction source) {
+        
+        planFor(manager).outputs.add(new OutputRemoval<>(output, recipePredicate, source));
+    }
+    
+    /**
+     * Checks whether the given manager has a recipe with the given name that is not going to be removed.
+     *
+     * <p>This does not apply the planned removals.</p>
+     *
+     * @param manager The manager of the recipe.
+     * @param name    The name of the recipe.
+     * @param <T>     The base type of {@link Recipe} of the manager.
+     *
+     * @return Whether the recipe exists and is not going to be removed.
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized <T extends Recipe<?>> boolean has(final IRecipeManager<T> manager, final ResourceLocation name) {
+        
+        final T recipe = manager.getRecipes().get(name);
+        if(recipe == null) {
+            return false;
+        }
+        
+        final Plan<T> plan = (Plan<T>) PLANS.get(manager.getRecipeType());
+        return plan == null || !plan.names.contains(name) && !plan.removesOtherwise(name, recipe);
+    }
+    
+    /**
+     * Applies the planned removals for the given recipe type, if any.
+     *
+     * @param type The recipe type.
+     */
+    public static synchronized void apply(final RecipeType<?> type) {
+        
+        // Removed before applying, so that a plan that fails is never applied again
+        final Plan<?> plan = PLANS.remove(type);
+        if(plan == null) {
+            return;
+        }
+        
+        try {
+            plan.apply();
+        } catch(final RuntimeException e) {
+            CraftTweakerAPI.LOGGER.error("Unable to apply the planned removals for recipe type '{}'", type, e);
+        }
+    }
+    
+    /**
+     * Applies all planned removals.
+     */
+    public static synchronized void applyAll() {
+        
+        while(!PLANS.isEmpty()) {
+            apply(PLANS.keySet().iterator().next());
+        }
+    }
+    
+    /**
+     * Discards all planned removals without applying them.
+     */
+    public static synchronized void reset() {
+        
+        PLANS.clear();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T extends Recipe<?>> Plan<T> planFor(final IRecipeManager<T> manager) {
+        
+        return (Plan<T>) PLANS.computeIfAbsent(manager.getRecipeType(), it -> new Plan<>(manager));
+    }
+    
+}
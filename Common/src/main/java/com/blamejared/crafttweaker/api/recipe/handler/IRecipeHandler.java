@@ -192,4 +192,22 @@ public interface IRecipeHandler<T extends Recipe<?>> {
      */
     Optional<T> recompose(final IRecipeManager<? super T> manager, final ResourceLocation name, final IDecomposedRecipe recipe);
     
+    /**
+     * Indicates whether the ingredients this handler decomposes a recipe into are only the ones exposed through
+     * {@link Recipe#getIngredients()} and {@link Recipe#getResultItem()}.
+     *
+     * <p>Handlers that return {@code true} allow CraftTweaker to tell which recipes reference an item by looking at those
+     * methods alone, instead of having to consider every recipe of this handler as a possible reference. Handlers that
+     * decompose any other ingredient, such as secondary outputs or ingredients stored outside of
+     * {@link Recipe#getIngredients()}, must return {@code false}.</p>
+     *
+     * @return Whether this handler only decomposes the ingredients exposed by the recipe itself.
+     *
+     * @since 10.1.0
+     */
+    default boolean decomposesOnlyExposedIngredients() {
+        
+        return false;
+    }
+    
 }
@@ -13,7 +13,6 @@ import com.blamejared.crafttweaker.api.bracket.custom.RecipeTypeBracketHandler;
 import com.blamejared.crafttweaker.api.data.MapData;
 import com.blamejared.crafttweaker.api.data.visitor.DataToJsonStringVisitor;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
-import com.blamejared.crafttweaker.api.item.IItemStack;
 import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
 import com.blamejared.crafttweaker_annotations.annotations.Document;
 import com.google.gson.JsonObject;
@@ -95,8 +94,10 @@ public enum GenericRecipesManager {
     @ZenCodeType.Method
     public List<Recipe<?>> getRecipesByOutput(IIngredient output) {
         
-        return getAllRecipes().stream()
-                .filter(iRecipe -> output.matches(IItemStack.of(iRecipe.getResultItem())))
+        return getAllManagers().stream()
+                .map(IRecipeManager::getRecipeList)
+                .map(it -> it.getRecipesByOutput(output))
+                .flatMap(Collection::stream)
                 .collect(Collectors.toList());
     }
     
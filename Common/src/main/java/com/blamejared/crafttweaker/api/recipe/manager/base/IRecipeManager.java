@@ -16,6 +16,7 @@ import com.blamejared.crafttweaker.api.data.visitor.DataToJsonStringVisitor;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
 import com.blamejared.crafttweaker.api.item.IItemStack;
 import com.blamejared.crafttweaker.api.recipe.RecipeList;
+import com.blamejared.crafttweaker.api.recipe.RecipeRemovalPlanner;
 import com.blamejared.crafttweaker.api.util.NameUtil;
 import com.blamejared.crafttweaker.api.zencode.util.PositionUtil;
 import com.blamejared.crafttweaker_annotations.annotations.Document;
@@ -105,12 +106,14 @@ public interface IRecipeManager<T extends Recipe<?>> extends CommandStringDispla
     @ZenCodeType.Nullable
     default T getRecipeByName(String name) {
         
+        RecipeRemovalPlanner.apply(getRecipeType());
         return getRecipeList().get(name);
     }
     
     @ZenCodeType.Method
     default List<T> getRecipesByOutput(IIngredient output) {
         
+        RecipeRemovalPlanner.apply(getRecipeType());
         return getRecipeList().getRecipesByOutput(output);
     }
     
@@ -118,6 +121,7 @@ public interface IRecipeManager<T extends Recipe<?>> extends CommandStringDispla
     @ZenCodeType.Getter("allRecipes")
     default List<T> getAllRecipes() {
         
+        RecipeRemovalPlanner.apply(getRecipeType());
         return getRecipeList().getAllRecipes();
     }
     
@@ -130,6 +134,7 @@ public interface IRecipeManager<T extends Recipe<?>> extends CommandStringDispla
     @ZenCodeType.Getter("recipeMap")
     default Map<ResourceLocation, T> getRecipeMap() {
         
+        RecipeRemovalPlanner.apply(getRecipeType());
         return getRecipeList().getRecipes();
     }
     
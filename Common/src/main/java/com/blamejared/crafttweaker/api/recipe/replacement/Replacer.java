@@ -151,7 +151,7 @@ public final class Replacer {
             return this;
         }
         
-        final DescriptivePredicate<T> predicate = DescriptivePredicate.of(it -> component.match(toReplace, it), toReplace.toString());
+        final DescriptivePredicate<T> predicate = DescriptivePredicate.matching(toReplace, it -> component.match(toReplace, it), toReplace.toString());
         final DescriptiveUnaryOperator<T> operator = DescriptiveUnaryOperator.of(it -> with, with.toString());
         return this.replace(component, strategy, predicate, operator);
     }
@@ -186,7 +186,7 @@ public final class Replacer {
     @ZenCodeType.Method
     public <T> Replacer replace(final IRecipeComponent<T> component, final ITargetingStrategy strategy, final T toReplace, final Function<T, T> with) {
         
-        final DescriptivePredicate<T> predicate = DescriptivePredicate.of(it -> component.match(toReplace, it), toReplace.toString());
+        final DescriptivePredicate<T> predicate = DescriptivePredicate.matching(toReplace, it -> component.match(toReplace, it), toReplace.toString());
         final DescriptiveUnaryOperator<T> operator = DescriptiveUnaryOperator.wrap(with::apply);
         return this.replace(component, strategy, predicate, operator);
     }
@@ -0,0 +1,133 @@
+package com.blamejared.crafttweaker.api.recipe.type;
+
+import java.util.Arrays;
+
+/**
+ * Finds maximum matchings in small bipartite graphs, using the Hopcroft-Karp algorithm.
+ *
+ * <p>The graph is given as an adjacency matrix of bitsets: every left vertex has a {@code long[]} in which bit
+ * {@code v} is set if the vertex can be matched with right vertex {@code v}.</p>
+ */
+final class BipartiteMatching {
+    
+    private static final int UNMATCHED = -1;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    
+    private final long[][] adjacency;
+    private final int[] matchLeft;
+    private final int[] matchRight;
+    private final int[] distance;
+    
+    private BipartiteMatching(final long[][] adjacency, final int right) {
+        
+        this.adjacency = adjacency;
+        this.matchLeft = new int[adjacency.length];
+        this.matchRight = new int[right];
+        this.distance = new int[adjacency.length];
+        Arrays.fill(this.matchLeft, UNMATCHED);
+        Arrays.fill(this.matchRight, UNMATCHED);
+    }
+    
+    /**
+     * Finds a matching that covers every left vertex.
+     *
+     * @param adjacency The adjacency bitsets of the left vertices.
+     * @param right     The amount of right vertices.
+     *
+     * @return For every left vertex, the right vertex it is matched with, or {@code null} if not every left vertex can
+     * be matched.
+     */
+    static int[] findCovering(final long[][] adjacency, final int right) {
+        
+        final BipartiteMatching matching = new BipartiteMatching(adjacency, right);
+        return matching.run() == adjacency.length ? matching.matchLeft : null;
+    }
+    
+    private int run() {
+        
+        // A greedy pass finds most of the matching, and the exact same one a first-fit assignment would find
+        int matched = 0;
+        for(int u = 0; u < this.adjacency.length; u++) {
+            final long[] edges = this.adjacency[u];
+            for(int word = 0; word < edges.length && this.matchLeft[u] == UNMATCHED; word++) {
+                long bits = edges[word];
+                while(bits != 0) {
+                    final int v = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if(this.matchRight[v] == UNMATCHED) {
+                        this.matchLeft[u] = v;
+                        this.matchRight[v] = u;
+                        matched++;
+                        break;
+                    }
+                }
+            }
+        }
+        
+        while(matched < this.adjacency.length && this.buildLayers()) {
+            for(int u = 0; u < this.adjacency.length; u++) {
+                if(this.matchLeft[u] == UNMATCHED && this.augment(u)) {
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+    
+    private boolean buildLayers() {
+        
+        final int[] queue = new int[this.adjacency.length];
+        int head = 0;
+        int tail = 0;
+        for(int u = 0; u < this.adjacency.length; u++) {
+            if(this.matchLeft[u] == UNMATCHED) {
+                this.distance[u] = 0;
+                queue[tail++] = u;
+            } else {
+                this.distance[u] = UNREACHABLE;
+            }
+        }
+        
+        boolean foundFreeVertex = false;
+        while(head < tail) {
+            final int u = queue[head++];
+            final long[] edges = this.adjacency[u];
+            for(int word = 0; word < edges.length; word++) {
+                long bits = edges[word];
+                while(bits != 0) {
+                    final int v = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    final int w = this.matchRight[v];
+                    if(w == UNMATCHED) {
+                        foundFreeVertex = true;
+                    } else if(this.distance[w] == UNREACHABLE) {
+                        this.distance[w] = this.distance[u] + 1;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+        }
+        return foundFreeVertex;
+    }
+    
+    private boolean augment(final int u) {
+        
+        final long[] edges = this.adjacency[u];
+        for(int word = 0; word < edges.length; word++) {
+            long bits = edges[word];
+            while(bits != 0) {
+                final int v = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                final int w = this.matchRight[v];
+                if(w == UNMATCHED || (this.distance[w] == this.distance[u] + 1 && this.augment(w))) {
+                    this.matchLeft[u] = v;
+                    this.matchRight[v] = u;
+                    return true;
+                }
+            }
+        }
+        this.distance[u] = UNREACHABLE;
+        return false;
+    }
+    
+}
@@ -6,6 +6,7 @@ import com.blamejared.crafttweaker.api.item.IItemStack;
 import com.blamejared.crafttweaker.api.recipe.MirrorAxis;
 import com.blamejared.crafttweaker.api.recipe.fun.RecipeFunction2D;
 import com.blamejared.crafttweaker.api.util.ArrayUtil;
+import com.blamejared.crafttweaker.api.util.ItemStackUtil;
 import com.blamejared.crafttweaker.platform.Services;
 import com.mojang.datafixers.util.Pair;
 import net.minecraft.core.NonNullList;
@@ -24,6 +25,9 @@ public class CTShapedRecipeBase implements CraftingRecipe {
     
     
     private static final Pair<Integer, Integer> INVALID = Pair.of(-1, -1);
+    private static final int NO_MATCH = -1;
+    private static final MirrorAxis[] MATCH_ORDER = {MirrorAxis.NONE, MirrorAxis.VERTICAL, MirrorAxis.HORIZONTAL, MirrorAxis.DIAGONAL};
+    private static final ThreadLocal<IItemStack[]> WRAPPED_SLOTS = ThreadLocal.withInitial(() -> new IItemStack[9]);
     
     private final IIngredient[][] ingredients;
     private final IIngredient[][][] mirroredIngredients;
@@ -35,6 +39,10 @@ public class CTShapedRecipeBase implements CraftingRecipe {
     
     private final int width;
     private final int height;
+    private final int fillableCells;
+    
+    @Nullable
+    private volatile LastMatch lastMatch;
     
     
     public CTShapedRecipeBase(String name, IItemStack output, IIngredient[][] ingredients, MirrorAxis mirrorAxis, @Nullable RecipeFunction2D function) {
@@ -56,6 +64,10 @@ public class CTShapedRecipeBase implements CraftingRecipe {
             }
         }
         initMirroredIngredients();
+        this.fillableCells = (int) Arrays.stream(this.ingredients)
+                .flatMap(Arrays::stream)
+                .filter(it -> it != null && !(it instanceof IItemStack stack && stack.getInternal().isEmpty()))
+                .count();
     }
     
     private void initMirroredIngredients() {
@@ -82,79 +94,135 @@ public class CTShapedRecipeBase implements CraftingRecipe {
         }
     }
     
-    private Pair<Integer, Integer> calculateOffset(CraftingContainer inv) {
+    private int findMatch(CraftingContainer inv) {
         
-        Pair<Integer, Integer> offset = calculateOffset(mirroredIngredients[MirrorAxis.NONE.ordinal()], inv);
-        if(isValidOffset(offset) || !mirrorAxis.isMirrored()) {
-            return offset;
+        final LastMatch lastMatch = this.lastMatch;
+        if(lastMatch != null && lastMatch.snapshot().matches(inv)) {
+            return lastMatch.match();
         }
-        // These cannot be `else if` due to MirrorAxis.ALL
-        if(mirrorAxis.isVertical()) {
-            offset = calculateOffset(mirroredIngredients[MirrorAxis.VERTICAL.ordinal()], inv);
-            if(isValidOffset(offset)) {
-                return offset;
-            }
+        
+        final int match = computeMatch(inv);
+        // Only successful matches are remembered, since they are the ones that assemble and getRemainingItems look up
+        if(match != NO_MATCH) {
+            this.lastMatch = new LastMatch(ContainerSnapshot.of(inv), match);
         }
-        if(mirrorAxis.isHorizontal()) {
-            offset = calculateOffset(mirroredIngredients[MirrorAxis.HORIZONTAL.ordinal()], inv);
-            if(isValidOffset(offset)) {
-                return offset;
-            }
+        return match;
+    }
+    
+    private int computeMatch(CraftingContainer inv) {
+        
+        final int containerWidth = inv.getWidth();
+        final int containerHeight = inv.getHeight();
+        if(this.height == 0 || this.width > containerWidth || this.height > containerHeight) {
+            return NO_MATCH;
         }
-        if(mirrorAxis.isDiagonal()) {
-            offset = calculateOffset(mirroredIngredients[MirrorAxis.DIAGONAL.ordinal()], inv);
-            if(isValidOffset(offset)) {
-                return offset;
+        
+        int minRow = containerHeight;
+        int maxRow = -1;
+        int minColumn = containerWidth;
+        int maxColumn = -1;
+        int filled = 0;
+        for(int slot = 0; slot < inv.getContainerSize(); slot++) {
+            if(!inv.getItem(slot).isEmpty()) {
+                final int row = slot / containerWidth;
+                final int column = slot % containerWidth;
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                minColumn = Math.min(minColumn, column);
+                maxColumn = Math.max(maxColumn, column);
+                filled++;
             }
         }
         
-        return INVALID;
-    }
-    
-    private Pair<Integer, Integer> calculateOffset(IIngredient[][] test, CraftingContainer inv) {
+        // Mirroring never changes the size of the pattern nor the amount of items it accepts, so these checks hold for
+        // every variant
+        if(filled > this.fillableCells) {
+            return NO_MATCH;
+        }
+        if(filled > 0 && (maxRow - minRow >= this.height || maxColumn - minColumn >= this.width)) {
+            return NO_MATCH;
+        }
         
-        for(int rowOffset = 0; rowOffset <= inv.getHeight() - test.length; rowOffset++) {
-            offset:
-            for(int columnOffset = 0; columnOffset <= inv.getWidth() - test[0].length; columnOffset++) {
-                
-                final boolean[] visited = new boolean[inv.getContainerSize()];
-                
-                for(int rowIndex = 0; rowIndex < test.length; rowIndex++) {
-                    final IIngredient[] row = test[rowIndex];
-                    for(int columnIndex = 0; columnIndex < row.length; columnIndex++) {
-                        final IIngredient item = row[columnIndex];
-                        final int slotNumber = (rowIndex + rowOffset) * inv.getWidth() + columnIndex + columnOffset;
-                        final ItemStack stackInSlot = inv.getItem(slotNumber);
-                        
-                        if(item == null && !stackInSlot.isEmpty() || item != null && !item.matches(IItemStack.ofMutable(stackInSlot))) {
-                            continue offset;
+        // Every non-empty slot has to be covered by the pattern, which restricts the offsets worth trying
+        final int firstRow = filled == 0 ? 0 : Math.max(0, maxRow - this.height + 1);
+        final int lastRow = filled == 0 ? containerHeight - this.height : Math.min(minRow, containerHeight - this.height);
+        final int firstColumn = filled == 0 ? 0 : Math.max(0, maxColumn - this.width + 1);
+        final int lastColumn = filled == 0 ? containerWidth - this.width : Math.min(minColumn, containerWidth - this.width);
+        
+        final IItemStack[] wrapped = wrappedSlots(inv.getContainerSize());
+        try {
+            for(final MirrorAxis axis : MATCH_ORDER) {
+                final IIngredient[][] pattern = this.mirroredIngredients[axis.ordinal()];
+                if(pattern == null) {
+                    continue;
+                }
+                for(int rowOffset = firstRow; rowOffset <= lastRow; rowOffset++) {
+                    for(int columnOffset = firstColumn; columnOffset <= lastColumn; columnOffset++) {
+                        if(matchesAt(pattern, inv, rowOffset, columnOffset, wrapped)) {
+                            return axis.ordinal() << 16 | rowOffset << 8 | columnOffset;
                         }
-                        visited[slotNumber] = true;
                     }
                 }
+            }
+        } finally {
+            Arrays.fill(wrapped, null);
+        }
+        return NO_MATCH;
+    }
+    
+    private static boolean matchesAt(IIngredient[][] pattern, CraftingContainer inv, int rowOffset, int columnOffset, IItemStack[] wrapped) {
+        
+        for(int rowIndex = 0; rowIndex < pattern.length; rowIndex++) {
+            final IIngredient[] row = pattern[rowIndex];
+            for(int columnIndex = 0; columnIndex < row.length; columnIndex++) {
+                final IIngredient item = row[columnIndex];
+                final int slotNumber = (rowIndex + rowOffset) * inv.getWidth() + columnIndex + columnOffset;
+                final ItemStack stackInSlot = inv.getItem(slotNumber);
                 
-                for(int i = 0; i < visited.length; i++) {
-                    if(!visited[i] && !inv.getItem(i).isEmpty()) {
-                        continue offset;
-                    }
+                if(item == null ? !stackInSlot.isEmpty() : !matches(item, stackInSlot, slotNumber, wrapped)) {
+                    return false;
                 }
-                return Pair.of(rowOffset, columnOffset);
             }
         }
-        return INVALID;
+        return true;
+    }
+    
+    private static boolean matches(IIngredient ingredient, ItemStack stack, int slotNumber, IItemStack[] wrapped) {
+        
+        if(ingredient instanceof IItemStack itemStack) {
+            // Same check as IItemStack#matches, without wrapping the stack
+            return ItemStackUtil.areStacksTheSame(itemStack.getInternal(), stack, false, true);
+        }
+        
+        IItemStack wrappedStack = wrapped[slotNumber];
+        if(wrappedStack == null) {
+            wrappedStack = IItemStack.ofMutable(stack);
+            wrapped[slotNumber] = wrappedStack;
+        }
+        return ingredient.matches(wrappedStack);
+    }
+    
+    private static IItemStack[] wrappedSlots(int size) {
+        
+        IItemStack[] wrapped = WRAPPED_SLOTS.get();
+        if(wrapped.length < size) {
+            wrapped = new IItemStack[size];
+            WRAPPED_SLOTS.set(wrapped);
+        }
+        return wrapped;
     }
     
     @Override
     public boolean matches(CraftingContainer inv, @Nullable Level worldIn) {
         
-        return isValidOffset(calculateOffset(inv));
+        return findMatch(inv) != NO_MATCH;
     }
     
     @Override
     public ItemStack assemble(CraftingContainer container) {
         
-        final Pair<Integer, Integer> offset = calculateOffset(container);
-        if(offset == INVALID) {
+        final int match = findMatch(container);
+        if(match == NO_MATCH) {
             return ItemStack.EMPTY;
         }
         
@@ -162,12 +230,8 @@ public class CTShapedRecipeBase implements CraftingRecipe {
             return getResultItem();
         }
         
-        final int rowOffset;
-        final int columnOffset;
-        {
-            rowOffset = offset.getFirst();
-            columnOffset = offset.getSecond();
-        }
+        final int rowOffset = rowOffset(match);
+        final int columnOffset = columnOffset(match);
         
         IItemStack[][] stacks = new IItemStack[height][width];
         for(int rowIndex = 0; rowIndex < this.ingredients.length; rowIndex++) {
@@ -199,49 +263,26 @@ public class CTShapedRecipeBase implements CraftingRecipe {
     @Override
     public NonNullList<ItemStack> getRemainingItems(CraftingContainer inv) {
         
-        IIngredient[][] workingIngredients = mirroredIngredients[MirrorAxis.NONE.ordinal()];
-        
-        Pair<Integer, Integer> offset = calculateOffset(workingIngredients, inv);
-        if(offset != INVALID || !mirrorAxis.isMirrored()) {
-            return getRemainingItems(inv, offset, workingIngredients);
-        }
-        
-        if(mirrorAxis.isVertical()) {
-            workingIngredients = mirroredIngredients[MirrorAxis.VERTICAL.ordinal()];
-            offset = calculateOffset(workingIngredients, inv);
-            if(offset != INVALID) {
-                return getRemainingItems(inv, offset, workingIngredients);
-            }
-        }
-        
-        if(mirrorAxis.isHorizontal()) {
-            workingIngredients = mirroredIngredients[MirrorAxis.HORIZONTAL.ordinal()];
-            offset = calculateOffset(workingIngredients, inv);
-            if(offset != INVALID) {
-                return getRemainingItems(inv, offset, workingIngredients);
-            }
-        }
-        
-        if(mirrorAxis.isDiagonal()) {
-            workingIngredients = mirroredIngredients[MirrorAxis.DIAGONAL.ordinal()];
-            offset = calculateOffset(workingIngredients, inv);
-            // this should fall through to the call below
+        final int match = findMatch(inv);
+        if(match == NO_MATCH) {
+            return NonNullList.withSize(inv.getContainerSize(), ItemStack.EMPTY);
         }
         
-        return getRemainingItems(inv, offset, workingIngredients);
+        return getRemainingItems(inv, rowOffset(match), columnOffset(match), mirroredIngredients[axisOrdinal(match)]);
     }
     
     public NonNullList<ItemStack> getRemainingItems(CraftingContainer inv, Pair<Integer, Integer> offsetPair, IIngredient[][] ingredients) {
         
-        final NonNullList<ItemStack> result = NonNullList.withSize(inv.getContainerSize(), ItemStack.EMPTY);
-        
         if(offsetPair == INVALID) {
-            return result;
+            return NonNullList.withSize(inv.getContainerSize(), ItemStack.EMPTY);
         }
         
-        int rowOffset = offsetPair.getFirst();
-        int columnOffset = offsetPair.getSecond();
+        return getRemainingItems(inv, offsetPair.getFirst(), offsetPair.getSecond(), ingredients);
+    }
+    
+    private NonNullList<ItemStack> getRemainingItems(CraftingContainer inv, int rowOffset, int columnOffset, IIngredient[][] ingredients) {
         
+        final NonNullList<ItemStack> result = NonNullList.withSize(inv.getContainerSize(), ItemStack.EMPTY);
         for(int rowIndex = 0; rowIndex < ingredients.length; rowIndex++) {
             final IIngredient[] row = ingredients[rowIndex];
             for(int columnIndex = 0; columnIndex < row.length; columnIndex++) {
@@ -322,9 +363,19 @@ public class CTShapedRecipeBase implements CraftingRecipe {
     }
     
     
-    private boolean isValidOffset(Pair<Integer, Integer> pair) {
+    private static int axisOrdinal(int match) {
         
-        return !pair.equals(INVALID);
+        return match >>> 16;
+    }
+    
+    private static int rowOffset(int match) {
+        
+        return (match >>> 8) & 0xFF;
+    }
+    
+    private static int columnOffset(int match) {
+        
+        return match & 0xFF;
     }
     
     public boolean isIncomplete() {
@@ -335,4 +386,6 @@ public class CTShapedRecipeBase implements CraftingRecipe {
                 .anyMatch((ingredient) -> ingredient.getItems().length == 0);
     }
     
+    private record LastMatch(ContainerSnapshot snapshot, int match) {}
+    
 }
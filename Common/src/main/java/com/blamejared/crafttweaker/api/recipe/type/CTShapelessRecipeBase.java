@@ -30,6 +30,9 @@ public class CTShapelessRecipeBase implements CraftingRecipe {
     private final RecipeFunction1D function;
     private final ResourceLocation resourceLocation;
     
+    @Nullable
+    private volatile LastMatch lastMatch;
+    
     
     public CTShapelessRecipeBase(String name, IItemStack output, IIngredient[] ingredients, @Nullable RecipeFunction1D function) {
         
@@ -57,18 +60,8 @@ public class CTShapelessRecipeBase implements CraftingRecipe {
     
     @Override
     public boolean matches(CraftingContainer inv, Level worldIn) {
-        //Don't do anything here, just make sure all slots have been visited
-        final boolean[] visited = forAllUniqueMatches(inv, (ingredientIndex, matchingSlot, stack) -> {});
-        
-        int visitedCount = 0;
-        for(int slot = 0; slot < visited.length; slot++) {
-            if(visited[slot]) {
-                visitedCount++;
-            } else if(!inv.getItem(slot).isEmpty()) {
-                return false;
-            }
-        }
-        return visitedCount == this.ingredients.length;
+        
+        return findMatch(inv) != null;
     }
     
     
@@ -79,9 +72,15 @@ public class CTShapelessRecipeBase implements CraftingRecipe {
             return this.output.getInternal().copy();
         }
         
-        final IItemStack[] stacks = new IItemStack[this.ingredients.length];
+        final int[] slots = findMatch(inv);
+        if(slots == null) {
+            return ItemStack.EMPTY;
+        }
         
-        forAllUniqueMatches(inv, (ingredientIndex, matchingSlot, stack) -> stacks[ingredientIndex] = stack.setAmount(1));
+        final IItemStack[] stacks = new IItemStack[this.ingredients.length];
+        for(int ingredientIndex = 0; ingredientIndex < slots.length; ingredientIndex++) {
+            stacks[ingredientIndex] = IItemStack.of(inv.getItem(slots[ingredientIndex])).setAmount(1);
+        }
         
         return this.function.process(this.output, stacks).getImmutableInternal();
     }
@@ -109,47 +108,95 @@ public class CTShapelessRecipeBase implements CraftingRecipe {
     public NonNullList<ItemStack> getRemainingItems(CraftingContainer inv) {
         
         final NonNullList<ItemStack> remainingItems = NonNullList.withSize(inv.getContainerSize(), ItemStack.EMPTY);
-        forAllUniqueMatches(inv, (ingredientIndex, matchingSlot, stack) -> remainingItems.set(matchingSlot, this.ingredients[ingredientIndex]
-                .getRemainingItem(stack)
-                .getInternal()));
+        final int[] slots = findMatch(inv);
+        if(slots == null) {
+            return remainingItems;
+        }
+        
+        for(int ingredientIndex = 0; ingredientIndex < slots.length; ingredientIndex++) {
+            final int slot = slots[ingredientIndex];
+            remainingItems.set(slot, this.ingredients[ingredientIndex].getRemainingItem(IItemStack.of(inv.getItem(slot)))
+                    .getInternal());
+        }
         return remainingItems;
     }
     
     /**
-     * Helper method to avoid redundant code.
-     * performs the Action for all matched items.
+     * Finds which slot each ingredient is matched with, reusing the last match if the container did not change.
      *
-     * Returns a bool array which slots have been visited, false implies the slot was not used.
-     * If there are less 'true' slots than there are ingredients, then the recipe doesn't match.
-     * It can be possible for a slot to not be visited but still contain items.
-     * Both cases need to be checked in the matches function!
+     * @return For every ingredient, the slot it is matched with, or {@code null} if the recipe does not match.
      */
-    private boolean[] forAllUniqueMatches(Container inv, ForAllUniqueAction action) {
+    @Nullable
+    private int[] findMatch(CraftingContainer inv) {
         
-        final boolean[] visited = new boolean[inv.getContainerSize()];
+        final LastMatch lastMatch = this.lastMatch;
+        if(lastMatch != null && lastMatch.snapshot().matches(inv)) {
+            return lastMatch.slots();
+        }
         
-        outer:
+        final int[] slots = computeMatch(inv);
+        // Only successful matches are remembered, since they are the ones that assemble and getRemainingItems look up
+        if(slots != null) {
+            this.lastMatch = new LastMatch(ContainerSnapshot.of(inv), slots);
+        }
+        return slots;
+    }
+    
+    /**
+     * Matches every ingredient with a different non-empty slot, so that every non-empty slot is used.
+     *
+     * <p>Ingredients may overlap (e.g. a tag and one of its members), so a first-fit assignment is not enough: the
+     * assignment is found as a matching of the bipartite graph between ingredients and slots instead.</p>
+     */
+    @Nullable
+    private int[] computeMatch(Container inv) {
+        
+        int filled = 0;
+        for(int slot = 0; slot < inv.getContainerSize(); slot++) {
+            if(!inv.getItem(slot).isEmpty()) {
+                filled++;
+            }
+        }
+        if(filled != this.ingredients.length) {
+            return null;
+        }
+        
+        final int[] filledSlots = new int[filled];
+        final IItemStack[] stacks = new IItemStack[filled];
+        for(int slot = 0, index = 0; index < filled; slot++) {
+            final ItemStack stackInSlot = inv.getItem(slot);
+            if(!stackInSlot.isEmpty()) {
+                filledSlots[index] = slot;
+                stacks[index] = IItemStack.of(stackInSlot);
+                index++;
+            }
+        }
+        
+        final long[][] adjacency = new long[this.ingredients.length][(filled + 63) >>> 6];
         for(int ingredientIndex = 0; ingredientIndex < this.ingredients.length; ingredientIndex++) {
-            IIngredient ingredient = this.ingredients[ingredientIndex];
-            for(int i = 0; i < inv.getContainerSize(); i++) {
-                if(visited[i]) {
-                    continue;
-                }
-                
-                final ItemStack stackInSlot = inv.getItem(i);
-                if(stackInSlot.isEmpty()) {
-                    continue;
-                }
-                
-                final IItemStack stack = IItemStack.of(stackInSlot);
-                if(ingredient.matches(stack)) {
-                    visited[i] = true;
-                    action.accept(ingredientIndex, i, stack);
-                    continue outer;
+            final IIngredient ingredient = this.ingredients[ingredientIndex];
+            boolean matchesAny = false;
+            for(int index = 0; index < filled; index++) {
+                if(ingredient.matches(stacks[index])) {
+                    adjacency[ingredientIndex][index >>> 6] |= 1L << index;
+                    matchesAny = true;
                 }
             }
+            if(!matchesAny) {
+                return null;
+            }
         }
-        return visited;
+        
+        final int[] matching = BipartiteMatching.findCovering(adjacency, filled);
+        if(matching == null) {
+            return null;
+        }
+        
+        final int[] slots = new int[matching.length];
+        for(int ingredientIndex = 0; ingredientIndex < matching.length; ingredientIndex++) {
+            slots[ingredientIndex] = filledSlots[matching[ingredientIndex]];
+        }
+        return slots;
     }
     
     @Override
@@ -197,11 +244,7 @@ public class CTShapelessRecipeBase implements CraftingRecipe {
         return this.output;
     }
     
-    private interface ForAllUniqueAction {
-        
-        void accept(int ingredientIndex, int matchingSlot, IItemStack stack);
-        
-    }
+    private record LastMatch(ContainerSnapshot snapshot, int[] slots) {}
     
     
 }
@@ -0,0 +1,62 @@
+package com.blamejared.crafttweaker.api.recipe.type;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.Objects;
+
+/**
+ * A snapshot of the contents of a crafting container, used to tell whether a match found earlier still applies.
+ *
+ * <p>Stacks are compared by identity, along with the properties that can change in place without replacing the stack.
+ * Tags can be edited in place as well, so they are copied when the snapshot is taken and compared by content.</p>
+ */
+final class ContainerSnapshot {
+    
+    private final int width;
+    private final int height;
+    private final ItemStack[] stacks;
+    private final int[] counts;
+    private final int[] damage;
+    private final CompoundTag[] tags;
+    
+    private ContainerSnapshot(final CraftingContainer container) {
+        
+        final int size = container.getContainerSize();
+        this.width = container.getWidth();
+        this.height = container.getHeight();
+        this.stacks = new ItemStack[size];
+        this.counts = new int[size];
+        this.damage = new int[size];
+        this.tags = new CompoundTag[size];
+        for(int slot = 0; slot < size; slot++) {
+            final ItemStack stack = container.getItem(slot);
+            this.stacks[slot] = stack;
+            this.counts[slot] = stack.getCount();
+            this.damage[slot] = stack.getDamageValue();
+            final CompoundTag tag = stack.getTag();
+            this.tags[slot] = tag == null ? null : tag.copy();
+        }
+    }
+    
+    static ContainerSnapshot of(final CraftingContainer container) {
+        
+        return new ContainerSnapshot(container);
+    }
+    
+    boolean matches(final CraftingContainer container) {
+        
+        if(container.getWidth() != this.width || container.getHeight() != this.height || container.getContainerSize() != this.stacks.length) {
+            return false;
+        }
+        for(int slot = 0; slot < this.stacks.length; slot++) {
+            final ItemStack stack = container.getItem(slot);
+            if(stack != this.stacks[slot] || stack.getCount() != this.counts[slot] || stack.getDamageValue() != this.damage[slot] || !Objects.equals(stack.getTag(), this.tags[slot])) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+}
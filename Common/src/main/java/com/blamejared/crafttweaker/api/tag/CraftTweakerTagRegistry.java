@@ -11,6 +11,7 @@ import com.blamejared.crafttweaker.api.util.GenericUtil;
 import com.blamejared.crafttweaker.api.util.InstantiationUtil;
 import com.blamejared.crafttweaker.platform.Services;
 import com.google.common.base.Suppliers;
+import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
 import net.minecraft.core.RegistryAccess;
 import net.minecraft.resources.ResourceKey;
@@ -20,6 +21,7 @@ import net.minecraft.tags.TagNetworkSerialization;
 import org.openzen.zencode.java.ZenCodeGlobals;
 import org.openzen.zencode.java.ZenCodeType;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -55,6 +57,9 @@ public final class CraftTweakerTagRegistry {
     private final Map<ResourceKey<? extends Registry<?>>, ITagManager<?>> registeredManagers = new HashMap<>();
     private final Set<ResourceKey<? extends Registry<?>>> knownManagers = new HashSet<>();
     private final Set<ResourceKey<? extends Registry<?>>> knownManagersView = Collections.unmodifiableSet(knownManagers);
+    private final Map<ResourceLocation, ITagManager<?>> managersByFolder = new HashMap<>();
+    private final Map<ResourceKey<? extends Registry<?>>, TagElementIndex> elementIndices = new HashMap<>();
+    private int generation = 0;
     
     /**
      * Adds a new {@link ITagManager} to the registry.
@@ -79,7 +84,14 @@ public final class CraftTweakerTagRegistry {
      */
     public <T> ITagManager<?> addManager(ITagManager<?> manager) {
         
-        registeredManagers.put(manager.resourceKey(), manager);
+        ITagManager<?> previous = registeredManagers.put(manager.resourceKey(), manager);
+        if(previous != null) {
+            Optional.ofNullable(ResourceLocation.tryParse(previous.tagFolder()))
+                    .ifPresent(folder -> managersByFolder.remove(folder, previous));
+        }
+        Optional.ofNullable(ResourceLocation.tryParse(manager.tagFolder()))
+                .ifPresent(folder -> managersByFolder.put(folder, manager));
+        elementIndices.remove(manager.resourceKey());
         if(manager.getClass().equals(KnownTagManager.class)) {
             knownManagers.add(manager.resourceKey());
         }
@@ -140,11 +152,108 @@ public final class CraftTweakerTagRegistry {
      */
     public <T> Optional<? extends ITagManager<?>> tagManagerFromFolder(ResourceLocation tagFolder) {
         
-        return this.registeredManagers.values()
-                .stream()
-                .filter(iTagManager -> tagFolder
-                        .equals(ResourceLocation.tryParse(iTagManager.tagFolder())))
-                .findFirst();
+        return Optional.ofNullable(this.managersByFolder.get(tagFolder));
+    }
+    
+    /**
+     * Gets the current generation of the tag contents known to the registry.
+     *
+     * <p>The generation changes every time the registry is bound or the contents of a tag are modified, so it can be
+     * used to invalidate data that is derived from the contents of tags.</p>
+     *
+     * @return The current generation.
+     */
+    public int generation() {
+        
+        return generation;
+    }
+    
+    /**
+     * Marks the contents of the tags known to the registry as modified, advancing the {@link #generation()}.
+     */
+    public void invalidate() {
+        
+        generation++;
+    }
+    
+    /**
+     * Gets the ids of the tags of the given manager that contain the element with the given id.
+     *
+     * <p>The tags are looked up through an index of the contents of the manager, which is built the first time the
+     * manager is queried and is kept up to date through {@link #elementsAdded(ITagManager, ResourceLocation, Collection)}
+     * and {@link #elementsRemoved(ITagManager, ResourceLocation, Collection)}.</p>
+     *
+     * @param manager The manager of the tags.
+     * @param element The id of the element.
+     *
+     * @return The ids of the tags that contain the element.
+     */
+    public Set<ResourceLocation> tagsFor(ITagManager<?> manager, ResourceLocation element) {
+        
+        // Managers that are not registered are not kept up to date, so their index cannot be reused
+        if(registeredManagers.get(manager.resourceKey()) != manager) {
+            return Collections.unmodifiableSet(TagElementIndex.of(manager).tagsFor(element));
+        }
+        TagElementIndex index = elementIndices.get(manager.resourceKey());
+        if(index == null || index.manager() != manager) {
+            index = TagElementIndex.of(manager);
+            elementIndices.put(manager.resourceKey(), index);
+        }
+        return Collections.unmodifiableSet(index.tagsFor(element));
+    }
+    
+    /**
+     * Records that the given elements were added to a tag of the given manager.
+     *
+     * @param manager  The manager of the tag.
+     * @param tag      The id of the tag.
+     * @param elements The elements that were added.
+     */
+    public void elementsAdded(ITagManager<?> manager, ResourceLocation tag, Collection<? extends Holder<?>> elements) {
+        
+        TagElementIndex index = elementIndices.get(manager.resourceKey());
+        if(index != null && index.manager() == manager) {
+            index.add(tag, elements);
+        }
+    }
+    
+    /**
+     * Records that the given elements were removed from a tag of the given manager.
+     *
+     * @param manager  The manager of the tag.
+     * @param tag      The id of the tag.
+     * @param elements The elements that were removed.
+     */
+    public void elementsRemoved(ITagManager<?> manager, ResourceLocation tag, Collection<? extends Holder<?>> elements) {
+        
+        TagElementIndex index = elementIndices.get(manager.resourceKey());
+        if(index != null && index.manager() == manager) {
+            index.remove(tag, elements);
+        }
+    }
+    
+    /**
+     * Records that a tag of the given manager was replaced as a whole, advancing the {@link #generation()} if its
+     * contents changed.
+     *
+     * @param manager  The manager of the tag.
+     * @param tag      The id of the tag.
+     * @param previous The previous elements of the tag, or {@code null} if the tag did not exist.
+     * @param elements The new elements of the tag.
+     */
+    public void tagReplaced(ITagManager<?> manager, ResourceLocation tag, @Nullable Collection<? extends Holder<?>> previous, Collection<? extends Holder<?>> elements) {
+        
+        // Replacing a tag changes which tags both its previous and its new elements belong to
+        final boolean hadElements = previous != null && !previous.isEmpty();
+        if(hadElements) {
+            elementsRemoved(manager, tag, previous);
+        }
+        if(!elements.isEmpty()) {
+            elementsAdded(manager, tag, elements);
+        }
+        if(hadElements || !elements.isEmpty()) {
+            invalidate();
+        }
     }
     
     public boolean isServerOnly(ResourceLocation tagFolder) {
@@ -302,6 +411,9 @@ public final class CraftTweakerTagRegistry {
         
         this.registeredManagers.clear();
         this.knownManagers.clear();
+        this.managersByFolder.clear();
+        this.elementIndices.clear();
+        this.invalidate();
         for(TagManager.LoadResult loadResult : results) {
             Optional<? extends Class<?>> taggableElement = CraftTweakerAPI.getRegistry()
                     .getTaggableElementFor(loadResult.key());
@@ -7,6 +7,7 @@ import com.blamejared.crafttweaker.api.tag.manager.ITagManager;
 import com.blamejared.crafttweaker.api.tag.type.KnownTag;
 import com.blamejared.crafttweaker.api.tag.type.UnknownTag;
 import com.blamejared.crafttweaker.api.util.GenericUtil;
+import com.blamejared.crafttweaker.platform.Services;
 import com.blamejared.crafttweaker_annotations.annotations.Document;
 import net.minecraft.core.Holder;
 import net.minecraft.resources.ResourceLocation;
@@ -132,7 +133,13 @@ public interface MCTag extends CommandStringDisplayable, Comparable<MCTag> {
     @ZenCodeType.Operator(ZenCodeType.OperatorType.CONTAINS)
     default boolean contains(ResourceLocation id) {
         
-        return idElements().contains(id);
+        final Collection<Holder<?>> internal = manager().getInternalRaw(GenericUtil.uncheck(this));
+        if(internal == null) {
+            return false;
+        }
+        return Services.REGISTRY.findHolder(manager().resourceKey(), id)
+                .map(internal::contains)
+                .orElseGet(() -> internal.stream().anyMatch(holder -> holder.is(id)));
     }
     
     /**
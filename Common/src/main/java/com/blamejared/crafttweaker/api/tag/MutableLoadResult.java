@@ -1,12 +1,12 @@
 package com.blamejared.crafttweaker.api.tag;
 
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
 import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.TagManager;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
@@ -32,7 +32,7 @@ public class MutableLoadResult<T> {
      */
     public void addTag(ResourceLocation id, Collection<Holder<T>> tag) {
         
-        this.tagMap().put(id, tag);
+        this.tagMap().put(id, mutable(tag));
     }
     
     /**
@@ -71,7 +71,9 @@ public class MutableLoadResult<T> {
     /**
      * Binds the given {@link net.minecraft.tags.TagManager.LoadResult} to this object.
      *
-     * <p>This will also make the elements of all tags in this result mutable.</p>
+     * <p>This will also make the elements of all tags in this result mutable: they are stored in insertion-ordered sets,
+     * so that they can be checked, added and removed without going through the whole tag, while vanilla still gets the
+     * elements in the order it expects.</p>
      *
      * @param result The {@link net.minecraft.tags.TagManager.LoadResult} to bind.
      */
@@ -81,7 +83,12 @@ public class MutableLoadResult<T> {
             throw new IllegalStateException("Unable to bind a MutableLoadResult twice!");
         }
         this.result = result;
-        this.tagMap().replaceAll((key, value) -> new ArrayList<>(value));
+        this.tagMap().replaceAll((key, value) -> mutable(value));
+    }
+    
+    private static <T> Collection<Holder<T>> mutable(Collection<Holder<T>> tag) {
+        
+        return new ObjectLinkedOpenHashSet<>(tag);
     }
     
 }
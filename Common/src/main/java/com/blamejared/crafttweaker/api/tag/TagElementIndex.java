@@ -0,0 +1,107 @@
+package com.blamejared.crafttweaker.api.tag;
+
+import com.blamejared.crafttweaker.api.tag.manager.ITagManager;
+import com.blamejared.crafttweaker.api.util.GenericUtil;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Associates the id of every element of the tags of an {@link ITagManager} to the ids of the tags that contain it, so
+ * that finding the tags of an element does not have to go through every tag.
+ *
+ * <p>The index is built from the contents of the manager when it is first queried and is then kept up to date by the
+ * tag actions through {@link CraftTweakerTagRegistry}. Elements whose holder has no key cannot be indexed, as they
+ * cannot be looked up by id either.</p>
+ */
+final class TagElementIndex {
+    
+    private final ITagManager<?> manager;
+    private final Map<ResourceLocation, Set<ResourceLocation>> tagsByElement;
+    
+    private TagElementIndex(final ITagManager<?> manager) {
+        
+        this.manager = manager;
+        this.tagsByElement = new Object2ObjectOpenHashMap<>();
+        for(final MCTag tag : manager.tags()) {
+            final Collection<Holder<?>> elements = manager.getInternalRaw(GenericUtil.uncheck(tag));
+            if(elements != null) {
+                this.add(tag.id(), elements);
+            }
+        }
+    }
+    
+    /**
+     * Builds the index for the current contents of the given manager.
+     *
+     * @param manager The manager to index.
+     *
+     * @return The index of the given manager.
+     */
+    static TagElementIndex of(final ITagManager<?> manager) {
+        
+        return new TagElementIndex(manager);
+    }
+    
+    /**
+     * Gets the manager this index was built for.
+     *
+     * @return The indexed manager.
+     */
+    ITagManager<?> manager() {
+        
+        return this.manager;
+    }
+    
+    /**
+     * Finds the ids of the tags that contain the element with the given id.
+     *
+     * @param element The id of the element.
+     *
+     * @return The ids of the tags that contain the element, in the order they were indexed.
+     */
+    Set<ResourceLocation> tagsFor(final ResourceLocation element) {
+        
+        return this.tagsByElement.getOrDefault(element, Set.of());
+    }
+    
+    /**
+     * Records that the given elements were added to the given tag.
+     *
+     * @param tag      The id of the tag.
+     * @param elements The elements that were added.
+     */
+    void add(final ResourceLocation tag, final Collection<? extends Holder<?>> elements) {
+        
+        for(final Holder<?> element : elements) {
+            element.unwrapKey()
+                    .map(ResourceKey::location)
+                    .ifPresent(id -> this.tagsByElement.computeIfAbsent(id, it -> new ObjectLinkedOpenHashSet<>()).add(tag));
+        }
+    }
+    
+    /**
+     * Records that the given elements were removed from the given tag.
+     *
+     * @param tag      The id of the tag.
+     * @param elements The elements that were removed.
+     */
+    void remove(final ResourceLocation tag, final Collection<? extends Holder<?>> elements) {
+        
+        for(final Holder<?> element : elements) {
+            element.unwrapKey().map(ResourceKey::location).ifPresent(id -> {
+                final Set<ResourceLocation> tags = this.tagsByElement.get(id);
+                if(tags != null && tags.remove(tag) && tags.isEmpty()) {
+                    this.tagsByElement.remove(id);
+                }
+            });
+        }
+    }
+    
+}
@@ -21,8 +21,8 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * @docParam this <tagmanager:items>
@@ -237,16 +237,15 @@ public interface ITagManager<T extends MCTag> extends CommandStringDisplayable,
     @ZenCodeType.Method
     default List<ResourceLocation> idElements(T of) {
         
-        if(!exists(of)) {
+        final Collection<Holder<?>> internal = exists(of) ? getInternalRaw(of) : null;
+        if(internal == null) {
             return List.of();
         }
-        return getInternalRaw(of)
-                .stream()
-                .map(Holder::unwrapKey)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .map(ResourceKey::location)
-                .collect(Collectors.toList());
+        final List<ResourceLocation> ids = new ArrayList<>(internal.size());
+        for(final Holder<?> holder : internal) {
+            holder.unwrapKey().ifPresent(key -> ids.add(key.location()));
+        }
+        return ids;
     }
     
     /**
@@ -285,7 +284,12 @@ public interface ITagManager<T extends MCTag> extends CommandStringDisplayable,
     @ZenCodeType.Method
     default List<T> getTagsFor(ResourceLocation element) {
         
-        return tags().stream().filter(tag -> tag.contains(element)).toList();
+        final Map<ResourceLocation, T> tags = tagMap();
+        return CraftTweakerTagRegistry.INSTANCE.tagsFor(this, element)
+                .stream()
+                .map(tags::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
     
     /**
@@ -6,6 +6,7 @@ import com.blamejared.crafttweaker.api.action.tag.known.ActionKnownTagClear;
 import com.blamejared.crafttweaker.api.action.tag.known.ActionKnownTagCreate;
 import com.blamejared.crafttweaker.api.action.tag.known.ActionKnownTagRemove;
 import com.blamejared.crafttweaker.api.annotation.ZenRegister;
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
 import com.blamejared.crafttweaker.api.tag.MutableLoadResult;
 import com.blamejared.crafttweaker.api.tag.manager.ITagManager;
 import com.blamejared.crafttweaker.api.tag.type.KnownTag;
@@ -25,7 +26,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,6 +39,7 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
     private final ResourceKey<? extends Registry<T>> resourceKey;
     private final Class<T> elementClass;
     private final MutableLoadResult<T> backingResult;
+    @Nullable
     private Map<ResourceLocation, KnownTag<T>> tagCache;
     
     public KnownTagManager(ResourceKey<? extends Registry<T>> resourceKey, Class<T> elementClass) {
@@ -46,7 +47,7 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
         this.resourceKey = resourceKey;
         this.elementClass = elementClass;
         this.backingResult = new MutableLoadResult<>();
-        this.tagCache = new HashMap<>();
+        this.tagCache = null;
     }
     
     public Optional<Class<?>> elementClass() {
@@ -68,7 +69,6 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
             CraftTweakerAPI.apply(new ActionKnownTagCreate<>(to));
         }
         CraftTweakerAPI.apply(new ActionKnownTagAdd<>(to, List.of(values)));
-        recalculate();
     }
     
     @Override
@@ -83,7 +83,6 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
                 .map(o -> (T) o)
                 .toList();
         CraftTweakerAPI.apply(new ActionKnownTagAdd<>(to, actualValues));
-        recalculate();
     }
     
     @ZenCodeType.Method
@@ -99,7 +98,6 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
                 .toList();
         
         CraftTweakerAPI.apply(new ActionKnownTagRemove<>(from, actualValues));
-        recalculate();
     }
     
     @Override
@@ -110,7 +108,6 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
         }
         
         CraftTweakerAPI.apply(new ActionKnownTagClear<>(from));
-        recalculate();
     }
     
     /**
@@ -139,7 +136,6 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
             throw new IllegalArgumentException("Cannot remove elements from empty tag: " + from);
         }
         CraftTweakerAPI.apply(new ActionKnownTagRemove<>(from, List.of(values)));
-        recalculate();
     }
     
     @ZenCodeType.Method
@@ -168,7 +164,7 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
     @ZenCodeType.Getter("tagMap")
     public Map<ResourceLocation, KnownTag<T>> tagMap() {
         
-        if(this.tagCache.isEmpty()) {
+        if(this.tagCache == null) {
             this.recalculate();
         }
         return tagCache;
@@ -201,20 +197,29 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
     @Override
     public <U> void addTag(ResourceLocation id, Collection<Holder<U>> tag) {
     
+        final Collection<? extends Holder<?>> previous = this.backingResult.tagMap().get(id);
         this.backingResult.addTag(id, GenericUtil.uncheck(tag));
-        recalculate();
+        CraftTweakerTagRegistry.INSTANCE.tagReplaced(this, id, previous, tag);
+        // Only the ids of the tags are cached, so edits to their contents never invalidate the cache
+        if(this.tagCache != null) {
+            this.tagCache.putIfAbsent(id, new KnownTag<>(id, this));
+        }
     }
     
     @Override
     public void bind(TagManager.LoadResult<?> result) {
         
         this.backingResult.bind((TagManager.LoadResult<T>) result);
+        this.tagCache = null;
     }
     
     @ZenCodeType.Method
     public List<KnownTag<T>> getTagsFor(T element) {
         
-        return tags().stream().filter(tag -> tag.contains(element)).toList();
+        return Services.REGISTRY.findHolder(resourceKey(), element)
+                .flatMap(Holder::unwrapKey)
+                .map(key -> getTagsFor(key.location()))
+                .orElseGet(() -> tags().stream().filter(tag -> tag.contains(element)).toList());
     }
     
 }
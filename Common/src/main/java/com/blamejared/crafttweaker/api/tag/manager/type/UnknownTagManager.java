@@ -7,6 +7,7 @@ import com.blamejared.crafttweaker.api.action.tag.unknown.ActionUnknownTagClear;
 import com.blamejared.crafttweaker.api.action.tag.unknown.ActionUnknownTagCreate;
 import com.blamejared.crafttweaker.api.action.tag.unknown.ActionUnknownTagRemove;
 import com.blamejared.crafttweaker.api.annotation.ZenRegister;
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
 import com.blamejared.crafttweaker.api.tag.MutableLoadResult;
 import com.blamejared.crafttweaker.api.tag.manager.ITagManager;
 import com.blamejared.crafttweaker.api.tag.type.UnknownTag;
@@ -24,7 +25,6 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -36,13 +36,14 @@ public class UnknownTagManager implements ITagManager<UnknownTag> {
     
     private final ResourceKey<? extends Registry<?>> resourceKey;
     private final MutableLoadResult<?> backingResult;
+    @Nullable
     private Map<ResourceLocation, UnknownTag> tagCache;
     
     public UnknownTagManager(ResourceKey<? extends Registry<?>> resourceKey) {
         
         this.resourceKey = resourceKey;
         this.backingResult = new MutableLoadResult<>();
-        this.tagCache = new HashMap<>();
+        this.tagCache = null;
     }
     
     @Override
@@ -58,7 +59,6 @@ public class UnknownTagManager implements ITagManager<UnknownTag> {
             CraftTweakerAPI.apply(new ActionUnknownTagCreate(to));
         }
         CraftTweakerAPI.apply(new ActionUnknownTagAdd(to, List.of(values)));
-        recalculate();
     }
     
     @ZenCodeType.Method
@@ -68,7 +68,6 @@ public class UnknownTagManager implements ITagManager<UnknownTag> {
             throw new IllegalArgumentException("Cannot remove elements from empty tag: " + from);
         }
         CraftTweakerAPI.apply(new ActionUnknownTagRemove(from, List.of(values)));
-        recalculate();
     }
     
     @Override
@@ -78,7 +77,6 @@ public class UnknownTagManager implements ITagManager<UnknownTag> {
             throw new IllegalArgumentException("Cannot remove elements from empty tag: " + from);
         }
         CraftTweakerAPI.apply(new ActionUnknownTagClear(from));
-        recalculate();
     }
     
     @ZenCodeType.Method
@@ -107,7 +105,7 @@ public class UnknownTagManager implements ITagManager<UnknownTag> {
     @ZenCodeType.Getter("tagMap")
     public Map<ResourceLocation, UnknownTag> tagMap() {
         
-        if(this.tagCache.isEmpty()) {
+        if(this.tagCache == null) {
             this.recalculate();
         }
         return tagCache;
@@ -134,14 +132,20 @@ public class UnknownTagManager implements ITagManager<UnknownTag> {
     @Override
     public <U> void addTag(ResourceLocation id, Collection<Holder<U>> tag) {
     
+        final Collection<? extends Holder<?>> previous = this.backingResult.tagMap().get(id);
         this.backingResult.addTag(id, GenericUtil.uncheck(tag));
-        recalculate();
+        CraftTweakerTagRegistry.INSTANCE.tagReplaced(this, id, previous, tag);
+        // Only the ids of the tags are cached, so edits to their contents never invalidate the cache
+        if(this.tagCache != null) {
+            this.tagCache.putIfAbsent(id, new UnknownTag(id, this));
+        }
     }
     
     @Override
     public void bind(TagManager.LoadResult<?> result) {
         
         this.backingResult.bind(GenericUtil.uncheck(result));
+        this.tagCache = null;
     }
     
 }
@@ -5,6 +5,7 @@ import com.blamejared.crafttweaker.api.tag.MCTag;
 import com.blamejared.crafttweaker.api.tag.manager.type.KnownTagManager;
 import com.blamejared.crafttweaker.api.util.GenericUtil;
 import com.blamejared.crafttweaker.api.util.Many;
+import com.blamejared.crafttweaker.platform.Services;
 import com.blamejared.crafttweaker_annotations.annotations.Document;
 import net.minecraft.core.Holder;
 import net.minecraft.resources.ResourceLocation;
@@ -70,7 +71,14 @@ public class KnownTag<T> implements MCTag, Iterable<T> {
     @ZenCodeType.Operator(ZenCodeType.OperatorType.CONTAINS)
     public boolean contains(T element) {
         
-        return elements().contains(element);
+        final Collection<Holder<T>> internal = manager().getInternal(this);
+        if(internal == null) {
+            return false;
+        }
+        // Tags store the holders of the registry, so the lookup can go through the holder when there is one
+        return Services.REGISTRY.findHolder(manager().resourceKey(), element)
+                .map(internal::contains)
+                .orElseGet(() -> internal.stream().anyMatch(holder -> holder.value().equals(element)));
     }
     
     @ZenCodeType.Method
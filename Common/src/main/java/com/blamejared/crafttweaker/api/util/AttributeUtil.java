@@ -1,6 +1,8 @@
 package com.blamejared.crafttweaker.api.util;
 
 import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.minecraft.core.Registry;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -13,6 +15,8 @@ import net.minecraft.world.item.ItemStack;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +24,11 @@ import java.util.Optional;
 
 public class AttributeUtil {
     
+    // Keys are compared by content, so every copy of a stack finds the modifiers parsed for the original
+    private static final Cache<ListTag, Map<EquipmentSlot, Map<Attribute, List<AttributeModifier>>>> PARSED_MODIFIERS = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .build();
+    
     public static void addAttributeModifier(ItemStack stack, Attribute attributeName, AttributeModifier modifier, @Nullable EquipmentSlot equipmentSlot) {
         
         CompoundTag tag = stack.getOrCreateTagElement(IItemStack.CRAFTTWEAKER_DATA_KEY);
@@ -42,28 +51,66 @@ public class AttributeUtil {
         
         Map<Attribute, List<AttributeModifier>> map = new HashMap<>();
         CompoundTag tag = stack.getOrCreateTagElement(IItemStack.CRAFTTWEAKER_DATA_KEY);
-        if(!tag.contains("AttributeModifiers", Tag.TAG_LIST)) {
-            return map;
+        findAttributeModifiers(tag, equipmentSlot).forEach((attribute, modifiers) -> map.put(attribute, new ArrayList<>(modifiers)));
+        return map;
+    }
+    
+    /**
+     * Finds the attribute modifiers stored in the given CraftTweaker data tag for the given slot.
+     *
+     * <p>The modifiers are parsed once for every distinct content of the list tag and then reused for every stack that
+     * carries the same modifiers, so repeated calls only cost a lookup by content. The returned map is therefore shared
+     * and cannot be modified.</p>
+     *
+     * @param crtData       The CraftTweaker data tag of a stack, see {@link IItemStack#CRAFTTWEAKER_DATA_KEY}.
+     * @param equipmentSlot The slot to find the modifiers for.
+     *
+     * @return An unmodifiable map of the modifiers that apply to the given slot.
+     */
+    public static Map<Attribute, List<AttributeModifier>> findAttributeModifiers(CompoundTag crtData, EquipmentSlot equipmentSlot) {
+        
+        if(!crtData.contains("AttributeModifiers", Tag.TAG_LIST)) {
+            return Map.of();
+        }
+        ListTag listnbt = crtData.getList("AttributeModifiers", Tag.TAG_COMPOUND);
+        Map<EquipmentSlot, Map<Attribute, List<AttributeModifier>>> parsed = PARSED_MODIFIERS.getIfPresent(listnbt);
+        if(parsed == null) {
+            parsed = parse(listnbt);
+            // The list of the stack can still be edited in place, so it is copied before becoming a key
+            PARSED_MODIFIERS.put(listnbt.copy(), parsed);
+        }
+        return parsed.get(equipmentSlot);
+    }
+    
+    private static Map<EquipmentSlot, Map<Attribute, List<AttributeModifier>>> parse(ListTag listnbt) {
+        
+        Map<EquipmentSlot, Map<Attribute, List<AttributeModifier>>> bySlot = new EnumMap<>(EquipmentSlot.class);
+        for(EquipmentSlot equipmentSlot : EquipmentSlot.values()) {
+            bySlot.put(equipmentSlot, new HashMap<>());
         }
-        ListTag listnbt = tag.getList("AttributeModifiers", Tag.TAG_COMPOUND);
         for(int i = 0; i < listnbt.size(); i++) {
             CompoundTag compoundnbt = listnbt.getCompound(i);
-            if(!compoundnbt.contains("Slot", Tag.TAG_STRING) || compoundnbt.getString("Slot")
-                    .equals(equipmentSlot.getName())) {
-                Optional<Attribute> optional = Registry.ATTRIBUTE
-                        .getOptional(ResourceLocation.tryParse(compoundnbt.getString("AttributeName")));
-                optional.ifPresent(attribute -> {
-                    AttributeModifier attributemodifier = AttributeModifier.load(compoundnbt);
-                    if(attributemodifier != null && attributemodifier.getId()
-                            .getLeastSignificantBits() != 0L && attributemodifier.getId()
-                            .getMostSignificantBits() != 0L) {
-                        map.computeIfAbsent(attribute, key -> new ArrayList<>())
-                                .add(attributemodifier);
-                    }
-                });
-            }
+            Optional<Attribute> optional = Registry.ATTRIBUTE
+                    .getOptional(ResourceLocation.tryParse(compoundnbt.getString("AttributeName")));
+            optional.ifPresent(attribute -> {
+                AttributeModifier attributemodifier = AttributeModifier.load(compoundnbt);
+                if(attributemodifier != null && attributemodifier.getId()
+                        .getLeastSignificantBits() != 0L && attributemodifier.getId()
+                        .getMostSignificantBits() != 0L) {
+                    bySlot.forEach((equipmentSlot, map) -> {
+                        if(!compoundnbt.contains("Slot", Tag.TAG_STRING) || compoundnbt.getString("Slot")
+                                .equals(equipmentSlot.getName())) {
+                            map.computeIfAbsent(attribute, key -> new ArrayList<>()).add(attributemodifier);
+                        }
+                    });
+                }
+            });
         }
-        return map;
+        bySlot.replaceAll((equipmentSlot, map) -> {
+            map.replaceAll((attribute, modifiers) -> List.copyOf(modifiers));
+            return Collections.unmodifiableMap(map);
+        });
+        return bySlot;
     }
     
 }
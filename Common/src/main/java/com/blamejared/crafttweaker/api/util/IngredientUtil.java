@@ -1,12 +1,21 @@
 package com.blamejared.crafttweaker.api.util;
 
 
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientConditioned;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientList;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientTransformed;
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -95,4 +104,52 @@ public final class IngredientUtil {
         return intersection == null ? List.of() : intersection;
     }
     
+    /**
+     * Attempts to reduce the given {@link IIngredient} to the finite set of {@link Item}s it can ever match.
+     *
+     * <p>The returned set is a superset of the items of the stacks accepted by {@link IIngredient#matches(IItemStack)}:
+     * a stack whose item is not in the set will never match, whereas a stack whose item is in the set still needs to be
+     * checked with {@code matches}, as NBT, damage or conditions may reject it.</p>
+     *
+     * <p>Ingredients whose contents cannot be determined statically (e.g. {@code IIngredientAny}, tags, whose contents
+     * change on every reload, or wrapped vanilla ingredients) cannot be reduced, in which case an empty optional is
+     * returned.</p>
+     *
+     * @param ingredient The ingredient to reduce.
+     *
+     * @return An optional containing the set of items, or an empty optional if the ingredient cannot be reduced.
+     */
+    public static Optional<Set<Item>> reduceToItems(final IIngredient ingredient) {
+        
+        final Set<Item> items = new ReferenceOpenHashSet<>();
+        return reduceToItems(ingredient, items) ? Optional.of(items) : Optional.empty();
+    }
+    
+    private static boolean reduceToItems(final IIngredient ingredient, final Set<Item> items) {
+        
+        if(ingredient instanceof IItemStack stack) {
+            if(stack.isEmpty()) {
+                return false;
+            }
+            items.add(stack.getDefinition());
+            return true;
+        }
+        if(ingredient instanceof IIngredientList list) {
+            for(final IIngredient child : list.getIngredients()) {
+                if(!reduceToItems(child, items)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // Both conditions and transformers require the base ingredient to match first
+        if(ingredient instanceof IIngredientTransformed<?> transformed) {
+            return reduceToItems(transformed.getBaseIngredient(), items);
+        }
+        if(ingredient instanceof IIngredientConditioned<?> conditioned) {
+            return reduceToItems(conditioned.getBaseIngredient(), items);
+        }
+        return false;
+    }
+    
 }
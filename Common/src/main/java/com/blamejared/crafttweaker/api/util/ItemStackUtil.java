@@ -83,7 +83,7 @@ public final class ItemStackUtil {
         final CompoundTag firstTag = first.getTag();
         final CompoundTag secondTag = second.getTag();
         
-        // Note: different from original (see comment at the end of the method)
+        // Note: different from original
         // The original code checks if they are both null and returns true if so, otherwise it converts both of them to
         // MapData and then checks again if the first tag is null. The only possibility is if firstTag is actually null,
         // so we can simplify the check. Also, if the first tag is not null, the second tag cannot be null, otherwise
@@ -124,48 +124,6 @@ public final class ItemStackUtil {
                 secondTag.put("Damage", secondDamage);
             }
         }
-        
-        /*
-        ItemStack stack1 = getInternal();
-        ItemStack stack2 = stack.getInternal();
-        
-        if(stack1.isEmpty() != stack2.isEmpty()) {
-            return false;
-        }
-        if(stack1.getItem() != stack2.getItem()) {
-            return false;
-        }
-        if(stack1.getCount() > stack2.getCount()) {
-            return false;
-        }
-        // This is really just an early exit, since damage is NBT based, it is checked again in the NBT contains
-        if(!ignoreDamage) {
-            if(stack1.getDamageValue() != stack2.getDamageValue()) {
-                return false;
-            }
-        }
-        CompoundTag stack1Tag = stack1.getTag();
-        CompoundTag stack2Tag = stack2.getTag();
-        if(stack1Tag == null && stack2Tag == null) {
-            return true;
-        }
-        
-        // Lets just use the partial nbt
-        IData stack2Data = TagToDataConverter.convert(stack2Tag);
-        IData stack1Data = TagToDataConverter.convert(stack1Tag);
-        if(stack1Data == null) {
-            return true;
-        }
-        if(ignoreDamage) {
-            stack1Data = stack1Data.copyInternal();
-            stack1Data.remove("Damage");
-            if(stack2Data != null) {
-                stack2Data = stack2Data.copyInternal();
-                stack2Data.remove("Damage");
-            }
-        }
-        return stack2Data != null && stack2Data.contains(stack1Data);
-        */
     }
     
     private static boolean areStackTagsPartiallyEqual(final CompoundTag partial, final CompoundTag actual) {
@@ -177,13 +135,8 @@ public final class ItemStackUtil {
             return false;
         }
         
-        // TODO("If we figure out a way to avoid having to convert everything to IData, let's use that")
-        final IData partialData = TagToDataConverter.convert(partial);
-        final IData actualData = TagToDataConverter.convert(actual);
-        
-        assert partialData != null && actualData != null;
-        
-        return actualData.contains(partialData);
+        // Compiling the partial tag only walks it once, which is still much cheaper than converting both tags to IData
+        return PartialTagMatcher.of(partial).matches(actual);
     }
     
 }
@@ -0,0 +1,292 @@
+package com.blamejared.crafttweaker.api.util;
+
+import com.blamejared.crafttweaker.api.data.IData;
+import com.blamejared.crafttweaker.api.data.converter.tag.TagToDataConverter;
+import net.minecraft.nbt.ByteTag;
+import net.minecraft.nbt.CollectionTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.DoubleTag;
+import net.minecraft.nbt.FloatTag;
+import net.minecraft.nbt.IntTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongTag;
+import net.minecraft.nbt.NumericTag;
+import net.minecraft.nbt.ShortTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * Checks whether tags partially match a reference tag, following the same rules as {@link IData#contains(IData)}, but
+ * walking the tags directly instead of converting both of them to {@link IData} first.
+ *
+ * <p>The reference tag is compiled ahead of time into a tree that mirrors its structure, so matching a tag only reads
+ * the parts of it that the reference mentions. The few combinations of tag types that cannot be compared natively,
+ * e.g. a number against a string, still go through {@link IData} so that the outcome is exactly the same.</p>
+ *
+ * <p>A matcher does not track changes to its reference tag: it has to be compiled again if the reference changes.</p>
+ */
+public final class PartialTagMatcher {
+    
+    private static class Node {
+        
+        private final Tag reference;
+        @Nullable
+        private volatile IData data;
+        @Nullable
+        private volatile String string;
+        
+        Node(final Tag reference) {
+            
+            this.reference = reference;
+        }
+        
+        final IData data() {
+            
+            IData data = this.data;
+            if(data == null) {
+                this.data = data = Objects.requireNonNull(TagToDataConverter.convert(this.reference));
+            }
+            return data;
+        }
+        
+        final String string() {
+            
+            String string = this.string;
+            if(string == null) {
+                this.string = string = this.data().getAsString();
+            }
+            return string;
+        }
+        
+    }
+    
+    private static final class CompoundNode extends Node {
+        
+        private final String[] keys;
+        private final Node[] children;
+        
+        CompoundNode(final CompoundTag reference) {
+            
+            super(reference);
+            this.keys = reference.getAllKeys().toArray(String[]::new);
+            this.children = new Node[this.keys.length];
+            for(int i = 0; i < this.keys.length; ++i) {
+                this.children[i] = compile(Objects.requireNonNull(reference.get(this.keys[i])));
+            }
+        }
+        
+    }
+    
+    private static final class CollectionNode extends Node {
+        
+        private final Node[] elements;
+        
+        CollectionNode(final CollectionTag<?> reference) {
+            
+            super(reference);
+            this.elements = new Node[reference.size()];
+            for(int i = 0; i < this.elements.length; ++i) {
+                this.elements[i] = compile(reference.get(i));
+            }
+        }
+        
+    }
+    
+    private static final class NumericNode extends Node {
+        
+        // Conversions go through IData, as they do not always agree with the ones of NumericTag (e.g. for doubles)
+        private final byte asByte;
+        private final short asShort;
+        private final int asInt;
+        private final long asLong;
+        private final float asFloat;
+        private final double asDouble;
+        
+        NumericNode(final NumericTag reference) {
+            
+            super(reference);
+            final IData data = this.data();
+            this.asByte = data.asByte();
+            this.asShort = data.asShort();
+            this.asInt = data.asInt();
+            this.asLong = data.asLong();
+            this.asFloat = data.asFloat();
+            this.asDouble = data.asDouble();
+        }
+        
+    }
+    
+    private static final class StringNode extends Node {
+        
+        private final String value;
+        
+        StringNode(final StringTag reference) {
+            
+            super(reference);
+            this.value = reference.getAsString();
+        }
+        
+    }
+    
+    private final Node root;
+    
+    private PartialTagMatcher(final Node root) {
+        
+        this.root = root;
+    }
+    
+    /**
+     * Compiles a matcher for the given reference tag.
+     *
+     * @param reference The tag that matched tags have to contain.
+     *
+     * @return A matcher for the given reference tag.
+     */
+    public static PartialTagMatcher of(final CompoundTag reference) {
+        
+        return new PartialTagMatcher(compile(reference));
+    }
+    
+    /**
+     * Checks whether the given tag contains the reference tag of this matcher.
+     *
+     * <p>This is equivalent to converting both tags to {@link IData} and checking whether the data of the given tag
+     * {@linkplain IData#contains(IData) contains} the data of the reference.</p>
+     *
+     * @param actual The tag to check, if any.
+     *
+     * @return {@code true} if the given tag contains the reference tag; {@code false} otherwise.
+     */
+    public boolean matches(@Nullable final Tag actual) {
+        
+        return actual != null && matches(this.root, actual);
+    }
+    
+    private static Node compile(final Tag reference) {
+        
+        if(reference instanceof CompoundTag compound) {
+            return new CompoundNode(compound);
+        }
+        if(reference instanceof CollectionTag<?> collection) {
+            return new CollectionNode(collection);
+        }
+        if(reference instanceof NumericTag numeric) {
+            return new NumericNode(numeric);
+        }
+        if(reference instanceof StringTag string) {
+            return new StringNode(string);
+        }
+        return new Node(reference);
+    }
+    
+    private static boolean matches(final Node node, final Tag actual) {
+        
+        if(actual instanceof CompoundTag compound) {
+            return matchesCompound(node, compound);
+        }
+        if(actual instanceof ListTag list) {
+            return matchesList(node, list);
+        }
+        if(actual instanceof CollectionTag<?> array) {
+            return matchesArray(node, array);
+        }
+        if(actual instanceof NumericTag numeric && node instanceof NumericNode number) {
+            return matchesNumber(number, numeric);
+        }
+        if(actual instanceof StringTag) {
+            return actual.getAsString().contains(node instanceof StringNode string ? string.value : node.string());
+        }
+        return Objects.requireNonNull(TagToDataConverter.convert(actual)).contains(node.data());
+    }
+    
+    private static boolean matchesCompound(final Node node, final CompoundTag actual) {
+        
+        if(node instanceof StringNode string) {
+            return actual.contains(string.value);
+        }
+        if(!(node instanceof CompoundNode compound)) {
+            return false;
+        }
+        
+        for(int i = 0; i < compound.keys.length; ++i) {
+            final Tag child = actual.get(compound.keys[i]);
+            if(child == null || !matches(compound.children[i], child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean matchesList(final Node node, final ListTag actual) {
+        
+        if(node instanceof CollectionNode collection && containsAll(actual, collection)) {
+            return true;
+        }
+        
+        for(final Tag element : actual) {
+            if(matches(node, element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean matchesArray(final Node node, final CollectionTag<?> actual) {
+        
+        if(node instanceof CollectionNode collection) {
+            return containsAll(actual, collection);
+        }
+        if(!(node instanceof NumericNode number)) {
+            return Objects.requireNonNull(TagToDataConverter.convert(actual)).contains(node.data());
+        }
+        
+        // Arrays only look for an element equal to the number, converted to the type of their elements
+        for(final Tag element : actual) {
+            if(matchesNumber(number, (NumericTag) element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean containsAll(final CollectionTag<?> actual, final CollectionNode collection) {
+        
+        outer:
+        for(final Node element : collection.elements) {
+            for(final Tag value : actual) {
+                if(matches(element, value)) {
+                    continue outer;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+    
+    private static boolean matchesNumber(final NumericNode node, final NumericTag actual) {
+        
+        if(actual instanceof ByteTag) {
+            return actual.getAsByte() == node.asByte;
+        }
+        if(actual instanceof ShortTag) {
+            return actual.getAsShort() == node.asShort;
+        }
+        if(actual instanceof IntTag) {
+            return actual.getAsInt() == node.asInt;
+        }
+        if(actual instanceof LongTag) {
+            return actual.getAsLong() == node.asLong;
+        }
+        if(actual instanceof FloatTag) {
+            return actual.getAsFloat() == node.asFloat;
+        }
+        if(actual instanceof DoubleTag) {
+            return actual.getAsDouble() == node.asDouble;
+        }
+        return Objects.requireNonNull(TagToDataConverter.convert(actual)).contains(node.data());
+    }
+    
+}
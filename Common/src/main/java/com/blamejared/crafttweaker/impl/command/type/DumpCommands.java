@@ -3,6 +3,7 @@ package com.blamejared.crafttweaker.impl.command.type;
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
 import com.blamejared.crafttweaker.api.command.CommandUtilities;
 import com.blamejared.crafttweaker.api.loot.LootManager;
+import com.blamejared.crafttweaker.api.loot.modifier.LootModifierManager;
 import com.blamejared.crafttweaker.api.plugin.ICommandRegistrationHandler;
 import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
 import com.blamejared.crafttweaker.api.tag.MCTag;
@@ -129,6 +130,24 @@ public final class DumpCommands {
                 })
         );
         
+        handler.registerDump(
+                "loot_modifier_stats",
+                Component.translatable("crafttweaker.command.description.dump.loot_modifier_stats"),
+                builder -> builder.executes(context -> {
+                    
+                    final ServerPlayer player = context.getSource().getPlayerOrException();
+                    final LootModifierManager.FilterStatistics statistics = LootManager.INSTANCE.getModifierManager()
+                            .getFilterStatistics();
+                    CraftTweakerAPI.LOGGER.info("Loot modifiers run because their loot table filter matched: {}", statistics.hits());
+                    CraftTweakerAPI.LOGGER.info("Loot modifiers skipped because their loot table filter did not match: {}", statistics.misses());
+                    
+                    CommandUtilities.send(CommandUtilities.openingLogFile(Component.translatable("crafttweaker.command.list.check.log", CommandUtilities.makeNoticeable(Component.translatable("crafttweaker.command.misc.loot_modifier_stats")), CommandUtilities.getFormattedLogFile())
+                            .withStyle(ChatFormatting.GREEN)), player);
+                    
+                    return Command.SINGLE_SUCCESS;
+                })
+        );
+        
         handler.registerDump(
                 "loot_tables",
                 Component.translatable("crafttweaker.command.description.dump.loot_tables"),
@@ -2,13 +2,10 @@ package com.blamejared.crafttweaker.impl.command.type.conflict;
 
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
 import com.blamejared.crafttweaker.api.CraftTweakerConstants;
-import com.blamejared.crafttweaker.api.bracket.custom.RecipeTypeBracketHandler;
 import com.blamejared.crafttweaker.api.command.CommandUtilities;
 import com.blamejared.crafttweaker.api.command.argument.RecipeTypeArgument;
 import com.blamejared.crafttweaker.api.plugin.ICommandRegistrationHandler;
-import com.blamejared.crafttweaker.api.recipe.handler.IRecipeHandlerRegistry;
 import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
-import com.blamejared.crafttweaker.api.util.GenericUtil;
 import com.blamejared.crafttweaker.mixin.common.access.recipe.AccessRecipeManager;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
@@ -17,6 +14,7 @@ import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
@@ -24,19 +22,14 @@ import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraft.world.item.crafting.RecipeType;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Spliterator;
-import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.ToIntBiFunction;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 public final class ConflictCommand {
     
@@ -48,6 +41,14 @@ public final class ConflictCommand {
         return t;
     });
     
+    // Leave a core free for the server thread by default, unless specified otherwise
+    private static final int PARALLELISM = Math.max(1, Integer.getInteger(
+            CraftTweakerConstants.MOD_ID + ".conflicts.parallelism",
+            Runtime.getRuntime().availableProcessors() - 1
+    ));
+    
+    private static final AtomicReference<ConflictFinder> RUNNING = new AtomicReference<>();
+    
     private ConflictCommand() {}
     
     public static void registerCommands(final ICommandRegistrationHandler handler) {
@@ -67,6 +68,8 @@ public final class ConflictCommand {
                                                 context,
                                                 (player, item) -> conflicts(player, DescriptiveFilter.of(item))
                                         )))
+                                .then(Commands.literal("cancel")
+                                        .executes(context -> cancel(context.getSource().getPlayerOrException())))
                                 .executes(context -> conflicts(context.getSource()
                                         .getPlayerOrException(), DescriptiveFilter.of()))
         );
@@ -86,8 +89,31 @@ public final class ConflictCommand {
         return command.applyAsInt(player, stack);
     }
     
+    private static int cancel(final Player player) {
+        
+        final ConflictFinder finder = RUNNING.get();
+        if(finder == null || finder.isCancelled()) {
+            
+            CommandUtilities.send(Component.translatable("crafttweaker.command.conflict.cancel.none")
+                    .withStyle(ChatFormatting.RED), player);
+            return -1;
+        }
+        
+        finder.cancel();
+        CommandUtilities.send(Component.translatable("crafttweaker.command.conflict.cancel")
+                .withStyle(ChatFormatting.YELLOW), player);
+        return 0;
+    }
+    
     private static int conflicts(final Player player, final DescriptiveFilter filter) {
         
+        if(RUNNING.get() != null) {
+            
+            CommandUtilities.send(Component.translatable("crafttweaker.command.conflict.running")
+                    .withStyle(ChatFormatting.RED), player);
+            return -1;
+        }
+        
         CommandUtilities.send(
                 Component.translatable("crafttweaker.command.conflict.begin", filter.description())
                         .withStyle(ChatFormatting.GREEN)
@@ -106,9 +132,22 @@ public final class ConflictCommand {
         // Cloning the map to avoid /reload messing up with CMEs when looping on it from off-thread
         // Also, this deep copies only the two maps: the recipe type, RL, and recipe objects are not also deep copied
         final Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes = deepCopy(((AccessRecipeManager) manager).crafttweaker$getRecipes(), filter);
-        CompletableFuture.supplyAsync(() -> computeConflicts(recipes), OFF_THREAD_SERVICE)
-                .thenAcceptAsync(message -> dispatchCompletionTo(message, player), OFF_THREAD_SERVICE)
-                .exceptionallyAsync(exception -> dispatchExceptionTo(exception, player), OFF_THREAD_SERVICE);
+        final ConflictFinder finder = new ConflictFinder(recipes, PARALLELISM, progress -> onServerThread(player, () -> dispatchProgressTo(progress, player)));
+        
+        if(!RUNNING.compareAndSet(null, finder)) {
+            
+            CommandUtilities.send(Component.translatable("crafttweaker.command.conflict.running")
+                    .withStyle(ChatFormatting.RED), player);
+            return;
+        }
+        
+        CompletableFuture.supplyAsync(finder::find, OFF_THREAD_SERVICE)
+                .thenAcceptAsync(message -> onServerThread(player, () -> dispatchCompletionTo(message, player)), OFF_THREAD_SERVICE)
+                .exceptionallyAsync(exception -> {
+                    onServerThread(player, () -> dispatchExceptionTo(exception, player));
+                    return null;
+                }, OFF_THREAD_SERVICE)
+                .whenComplete((result, exception) -> RUNNING.compareAndSet(finder, null));
     }
     
     private static Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> deepCopy(final Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> original, final DescriptiveFilter filter) {
@@ -124,47 +163,28 @@ public final class ConflictCommand {
         return clone;
     }
     
-    private static String computeConflicts(final Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes) {
+    private static void onServerThread(final Player player, final Runnable runnable) {
         
-        return recipes.entrySet()
-                .stream()
-                .flatMap(ConflictCommand::computeConflictsFor)
-                .map(it -> "- " + it)
-                .collect(Collectors.joining("\n"));
-    }
-    
-    private static Stream<String> computeConflictsFor(final Map.Entry<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> entry) {
-        
-        final IRecipeManager<?> manager = RecipeTypeBracketHandler.getOrDefault(entry.getKey());
-        
-        if(manager == null) {
-            return Stream.empty();
+        // Chat messages must be sent from the server thread, while conflicts are found off-thread
+        final MinecraftServer server = player.getServer();
+        if(server == null) {
+            runnable.run();
+            return;
         }
-        
-        final List<Map.Entry<ResourceLocation, Recipe<?>>> recipes = new ArrayList<>(entry.getValue().entrySet());
-        final RecipeLongIterator iterator = new RecipeLongIterator(recipes.size());
-        final int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
-        
-        return StreamSupport.longStream(Spliterators.spliterator(iterator, iterator.estimateLength(), characteristics), false)
-                .filter(it -> conflictsWith(manager, recipes.get(RecipeLongIterator.first(it))
-                        .getValue(), recipes.get(RecipeLongIterator.second(it)).getValue()))
-                .mapToObj(it -> formatConflict(manager, recipes.get(RecipeLongIterator.first(it))
-                        .getKey(), recipes.get(RecipeLongIterator.second(it)).getKey()));
+        server.execute(runnable);
     }
     
-    private static <T extends Recipe<?>> boolean conflictsWith(final IRecipeManager<?> manager, final T first, final Recipe<?> second) {
+    private static void dispatchProgressTo(final int progress, final Player player) {
         
-        return first != second && IRecipeHandlerRegistry.getHandlerFor(first)
-                .doesConflict(GenericUtil.uncheck(manager), first, second);
-    }
-    
-    private static String formatConflict(final IRecipeManager<?> manager, final ResourceLocation firstName, final ResourceLocation secondName) {
-        
-        return String.format("Recipes '%s' and '%s' in type '%s' have conflicting inputs", firstName, secondName, manager.getCommandString());
+        try {
+            CommandUtilities.send(Component.translatable("crafttweaker.command.conflict.progress", progress)
+                    .withStyle(ChatFormatting.GRAY), player);
+        } catch(final Exception e) {
+            CraftTweakerAPI.LOGGER.error("An error occurred while reporting conflict testing progress", e);
+        }
     }
     
     private static void dispatchCompletionTo(final String message, final Player player) {
-        //TODO make this go on the correct thread
         
         try {
             CraftTweakerAPI.LOGGER.info(message.isEmpty() ? "No conflicts identified" : message);
@@ -180,10 +200,15 @@ public final class ConflictCommand {
         }
     }
     
-    private static Void dispatchExceptionTo(final Throwable exception, final Player player) {
-        //TODO make this go on the correct thread
+    private static void dispatchExceptionTo(final Throwable exception, final Player player) {
         
         try {
+            if(exception instanceof CancellationException || exception.getCause() instanceof CancellationException) {
+                CommandUtilities.send(Component.translatable("crafttweaker.command.conflict.cancelled")
+                        .withStyle(ChatFormatting.YELLOW), player);
+                return;
+            }
+            
             CraftTweakerAPI.LOGGER.error("Unable to verify for conflicts due to an exception", exception);
             CommandUtilities.send(CommandUtilities.openingLogFile(Component.translatable("crafttweaker.command.conflict.error")
                     .withStyle(ChatFormatting.RED)), player);
@@ -195,8 +220,6 @@ public final class ConflictCommand {
                 e.printStackTrace(System.err); // It's not going to be useful if the logging throws errors, but at least we can say we tried
             }
         }
-        
-        return null;
     }
     
 }
@@ -0,0 +1,251 @@
+package com.blamejared.crafttweaker.impl.command.type.conflict;
+
+import com.blamejared.crafttweaker.api.CraftTweakerConstants;
+import com.blamejared.crafttweaker.api.bracket.custom.RecipeTypeBracketHandler;
+import com.blamejared.crafttweaker.api.recipe.handler.IRecipeHandlerRegistry;
+import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
+import com.blamejared.crafttweaker.api.util.GenericUtil;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Finds conflicts between recipes of the same type, without checking every possible pair of recipes.
+ *
+ * <p>Every recipe is first indexed by the items its ingredients accept. Two recipes can only conflict if every
+ * ingredient of one of them shares at least an item with an ingredient of the other: for this reason, each recipe is
+ * only checked against the recipes that accept one of the items of its most selective ingredient. Recipes that cannot
+ * be reduced to items (e.g. recipes without ingredients or with an ingredient that reports no items) are checked
+ * against everything, as the old pairwise scan did.</p>
+ *
+ * <p>The full {@link com.blamejared.crafttweaker.api.recipe.handler.IRecipeHandler#doesConflict(IRecipeManager, Recipe, Recipe)}
+ * check is then run on the candidates in parallel, on a dedicated {@link ForkJoinPool}.</p>
+ */
+final class ConflictFinder {
+    
+    private static final int PROGRESS_STEP = 10;
+    
+    private final Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes;
+    private final int parallelism;
+    private final IntConsumer progressListener;
+    private final int total;
+    private final AtomicInteger done;
+    private final AtomicInteger lastReportedProgress;
+    private volatile boolean cancelled;
+    
+    ConflictFinder(final Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes, final int parallelism, final IntConsumer progressListener) {
+        
+        this.recipes = recipes;
+        this.parallelism = parallelism;
+        this.progressListener = progressListener;
+        this.total = recipes.values().stream().mapToInt(Map::size).sum();
+        this.done = new AtomicInteger();
+        this.lastReportedProgress = new AtomicInteger();
+        this.cancelled = false;
+    }
+    
+    void cancel() {
+        
+        this.cancelled = true;
+    }
+    
+    boolean isCancelled() {
+        
+        return this.cancelled;
+    }
+    
+    String find() {
+        
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism, ConflictFinder::newWorker, null, false);
+        try {
+            final List<String> conflicts = new ArrayList<>();
+            for(final Map.Entry<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> entry : this.recipes.entrySet()) {
+                conflicts.addAll(pool.submit(() -> this.findConflictsFor(entry.getKey(), entry.getValue())).get());
+            }
+            return conflicts.stream().map(it -> "- " + it).collect(Collectors.joining("\n"));
+        } catch(final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Conflict testing was interrupted");
+        } catch(final ExecutionException e) {
+            if(e.getCause() instanceof CancellationException cancellation) {
+                throw cancellation;
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    private static ForkJoinWorkerThread newWorker(final ForkJoinPool pool) {
+        
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName(CraftTweakerConstants.MOD_ID + ":conflict_resolution_worker_" + thread.getPoolIndex());
+        // Recipe handlers of other mods run on these threads, so they need to see the same classes as the mod does
+        thread.setContextClassLoader(ConflictFinder.class.getClassLoader());
+        return thread;
+    }
+    
+    private List<String> findConflictsFor(final RecipeType<?> type, final Map<ResourceLocation, Recipe<?>> typeRecipes) {
+        
+        final IRecipeManager<?> manager = RecipeTypeBracketHandler.getOrDefault(type);
+        
+        if(manager == null) {
+            this.markDone(typeRecipes.size());
+            return List.of();
+        }
+        
+        final List<Map.Entry<ResourceLocation, Recipe<?>>> entries = new ArrayList<>(typeRecipes.entrySet());
+        final CandidateIndex index = CandidateIndex.of(entries);
+        
+        // Parallel streams run in the pool they are started from, so this spreads onto the dedicated pool
+        return IntStream.range(0, entries.size())
+                .parallel()
+                .mapToObj(first -> this.findConflictsOf(manager, entries, index, first))
+                .flatMap(List::stream)
+                .toList();
+    }
+    
+    private List<String> findConflictsOf(final IRecipeManager<?> manager, final List<Map.Entry<ResourceLocation, Recipe<?>>> entries, final CandidateIndex index, final int first) {
+        
+        if(this.cancelled) {
+            throw new CancellationException("Conflict testing was cancelled");
+        }
+        
+        final Map.Entry<ResourceLocation, Recipe<?>> firstEntry = entries.get(first);
+        final BitSet candidates = index.candidatesFor(first);
+        List<String> conflicts = null;
+        
+        for(int second = candidates.nextSetBit(first + 1); second >= 0; second = candidates.nextSetBit(second + 1)) {
+            
+            final Map.Entry<ResourceLocation, Recipe<?>> secondEntry = entries.get(second);
+            if(conflictsWith(manager, firstEntry.getValue(), secondEntry.getValue())) {
+                
+                if(conflicts == null) {
+                    conflicts = new ArrayList<>();
+                }
+                conflicts.add(formatConflict(manager, firstEntry.getKey(), secondEntry.getKey()));
+            }
+        }
+        
+        this.markDone(1);
+        return conflicts == null ? List.of() : conflicts;
+    }
+    
+    private void markDone(final int amount) {
+        
+        if(this.total == 0) {
+            return;
+        }
+        
+        final int progress = (int) ((long) this.done.addAndGet(amount) * 100L / this.total) / PROGRESS_STEP * PROGRESS_STEP;
+        final int last = this.lastReportedProgress.get();
+        if(progress > last && progress < 100 && this.lastReportedProgress.compareAndSet(last, progress)) {
+            this.progressListener.accept(progress);
+        }
+    }
+    
+    private static <T extends Recipe<?>> boolean conflictsWith(final IRecipeManager<?> manager, final T first, final Recipe<?> second) {
+        
+        return first != second && IRecipeHandlerRegistry.getHandlerFor(first)
+                .doesConflict(GenericUtil.uncheck(manager), first, second);
+    }
+    
+    private static String formatConflict(final IRecipeManager<?> manager, final ResourceLocation firstName, final ResourceLocation secondName) {
+        
+        return String.format("Recipes '%s' and '%s' in type '%s' have conflicting inputs", firstName, secondName, manager.getCommandString());
+    }
+    
+    private record CandidateIndex(int size, Item[][] selectiveItems, Map<Item, IntList> byItem, BitSet wildcards) {
+        
+        static CandidateIndex of(final List<Map.Entry<ResourceLocation, Recipe<?>>> entries) {
+            
+            final int size = entries.size();
+            final Item[][] selectiveItems = new Item[size][];
+            final Map<Item, IntList> byItem = new Reference2ObjectOpenHashMap<>();
+            final BitSet wildcards = new BitSet(size);
+            
+            for(int i = 0; i < size; ++i) {
+                
+                final Set<Item> allItems = new ReferenceOpenHashSet<>();
+                Set<Item> selective = null;
+                
+                for(final Ingredient ingredient : entries.get(i).getValue().getIngredients()) {
+                    
+                    if(ingredient.isEmpty()) {
+                        continue;
+                    }
+                    
+                    // Resolving the items here also means the ingredients are dissolved before going multithreaded
+                    final Set<Item> items = new ReferenceOpenHashSet<>();
+                    for(final ItemStack stack : ingredient.getItems()) {
+                        items.add(stack.getItem());
+                    }
+                    
+                    // Ingredients that report no items can only be compared through the handler, so the recipe may
+                    // conflict with any other recipe through them
+                    if(items.isEmpty()) {
+                        selective = null;
+                        break;
+                    }
+                    
+                    allItems.addAll(items);
+                    if(selective == null || items.size() < selective.size()) {
+                        selective = items;
+                    }
+                }
+                
+                if(selective == null) {
+                    wildcards.set(i);
+                    continue;
+                }
+                
+                selectiveItems[i] = selective.toArray(Item[]::new);
+                for(final Item item : allItems) {
+                    byItem.computeIfAbsent(item, it -> new IntArrayList()).add(i);
+                }
+            }
+            
+            return new CandidateIndex(size, selectiveItems, byItem, wildcards);
+        }
+        
+        BitSet candidatesFor(final int recipe) {
+            
+            final BitSet candidates = new BitSet(this.size);
+            final Item[] items = this.selectiveItems[recipe];
+            
+            if(items == null) {
+                candidates.set(0, this.size);
+                return candidates;
+            }
+            
+            candidates.or(this.wildcards);
+            for(final Item item : items) {
+                this.byItem.get(item).forEach((IntConsumer) candidates::set);
+            }
+            return candidates;
+        }
+        
+    }
+    
+}
@@ -113,4 +113,10 @@ public final class CTShapedRecipeHandler implements IRecipeHandler<CTShapedRecip
         return inflated;
     }
     
+    @Override
+    public boolean decomposesOnlyExposedIngredients() {
+        
+        return true;
+    }
+    
 }
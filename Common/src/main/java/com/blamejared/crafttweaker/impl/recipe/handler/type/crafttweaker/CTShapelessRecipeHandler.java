@@ -78,4 +78,10 @@ public final class CTShapelessRecipeHandler implements IRecipeHandler<CTShapeles
         return Optional.of(Services.REGISTRY.createCTShapelessRecipe(name.getPath(), output, list, recipeFunction));
     }
     
+    @Override
+    public boolean decomposesOnlyExposedIngredients() {
+        
+        return true;
+    }
+    
 }
@@ -106,4 +106,10 @@ public final class CookingRecipeHandler implements IRecipeHandler<AbstractCookin
         return Optional.of(factory.create(name, group, input.asVanillaIngredient(), output.getInternal(), experience, cookTime));
     }
     
+    @Override
+    public boolean decomposesOnlyExposedIngredients() {
+        
+        return true;
+    }
+    
 }
@@ -90,4 +90,10 @@ public final class ShapedRecipeHandler implements IRecipeHandler<ShapedRecipe> {
         return Optional.of(new ShapedRecipe(name, group, width, height, recipeIngredients, output.getInternal()));
     }
     
+    @Override
+    public boolean decomposesOnlyExposedIngredients() {
+        
+        return true;
+    }
+    
 }
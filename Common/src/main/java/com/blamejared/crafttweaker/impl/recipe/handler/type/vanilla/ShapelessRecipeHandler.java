@@ -76,4 +76,10 @@ public final class ShapelessRecipeHandler implements IRecipeHandler<ShapelessRec
         return Optional.of(new ShapelessRecipe(name, group, output.getInternal(), recipeIngredients));
     }
     
+    @Override
+    public boolean decomposesOnlyExposedIngredients() {
+        
+        return true;
+    }
+    
 }
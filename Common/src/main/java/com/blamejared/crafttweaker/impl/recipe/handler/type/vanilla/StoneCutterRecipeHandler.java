@@ -56,4 +56,10 @@ public final class StoneCutterRecipeHandler implements IRecipeHandler<Stonecutte
         return Optional.of(new StonecutterRecipe(name, group, input.asVanillaIngredient(), output.getInternal()));
     }
     
+    @Override
+    public boolean decomposesOnlyExposedIngredients() {
+        
+        return true;
+    }
+    
 }
@@ -1,5 +1,6 @@
 package com.blamejared.crafttweaker.impl.script;
 
+import com.google.common.base.Suppliers;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.Container;
 import net.minecraft.world.item.ItemStack;
@@ -9,6 +10,7 @@ import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.level.Level;
 
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.function.Supplier;
 
 @ParametersAreNonnullByDefault
 public class ScriptRecipe implements Recipe<Container> {
@@ -16,12 +18,14 @@ public class ScriptRecipe implements Recipe<Container> {
     private final ResourceLocation id;
     private final String fileName;
     private final String content;
+    private final Supplier<ScriptSerializer.CompressedContent> compressedContent;
     
     public ScriptRecipe(ResourceLocation id, String fileName, String content) {
         
         this.id = id;
         this.fileName = fileName;
         this.content = content;
+        this.compressedContent = Suppliers.memoize(() -> ScriptSerializer.compress(content));
     }
     
     @Override
@@ -76,4 +80,9 @@ public class ScriptRecipe implements Recipe<Container> {
         return fileName;
     }
     
+    ScriptSerializer.CompressedContent getCompressedContent() {
+        
+        return compressedContent.get();
+    }
+    
 }
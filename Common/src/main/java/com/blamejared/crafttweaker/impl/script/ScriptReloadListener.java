@@ -9,7 +9,10 @@ import com.blamejared.crafttweaker.api.util.sequence.SequenceManager;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptRun;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptDiscoveryConfiguration;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptRunConfiguration;
+import com.blamejared.crafttweaker.impl.script.scriptrun.ScriptRunManager;
+import com.blamejared.crafttweaker.impl.script.scriptrun.ScriptSnapshot;
 import com.blamejared.crafttweaker.mixin.common.access.recipe.AccessRecipeManager;
+import com.blamejared.crafttweaker.mixin.common.access.server.AccessReloadableServerResources;
 import com.blamejared.crafttweaker.mixin.common.access.tag.AccessTagManager;
 import com.blamejared.crafttweaker.platform.helper.IAccessibleServerElementsProvider;
 import net.minecraft.network.chat.Component;
@@ -23,8 +26,6 @@ import net.minecraft.util.profiling.ProfilerFiller;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.item.crafting.RecipeManager;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashMap;
@@ -35,9 +36,9 @@ import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 
-public final class ScriptReloadListener extends SimplePreparableReloadListener<Void> {
+public final class ScriptReloadListener extends SimplePreparableReloadListener<ScriptReloadListener.RunPreparation> {
     
-    private record RunPreparation(IScriptRun run, Path root, List<Path> scripts) {}
+    record RunPreparation(IScriptRun run, List<ScriptRecipe> scripts) {}
     
     private static final MutableComponent MSG_RELOAD_STARTING = Component.translatable("crafttweaker.reload.start");
     private static final MutableComponent MSG_RELOAD_COMPLETE = Component.translatable("crafttweaker.reload.complete");
@@ -54,13 +55,25 @@ public final class ScriptReloadListener extends SimplePreparableReloadListener<V
     
     
     @Override
-    protected Void prepare(ResourceManager resourceManager, ProfilerFiller profiler) {
+    protected RunPreparation prepare(ResourceManager resourceManager, ProfilerFiller profiler) {
         
-        return null;
+        // Discovering, reading and preprocessing scripts does not depend on the reloaded resources, so it can overlap
+        // with the loading of the other resources instead of stalling the application phase
+        return this.prepareRun();
     }
     
     @Override
-    protected void apply(Void object, ResourceManager resourceManager, ProfilerFiller profiler) {
+    protected void apply(RunPreparation runPreparation, ResourceManager resourceManager, ProfilerFiller profiler) {
+        
+        try {
+            this.applyRun(runPreparation);
+        } finally {
+            // Every run of the reload has been created by now, whether this one succeeded or not
+            ScriptRunManager.get().endReload(this.reloadTagManager());
+        }
+    }
+    
+    private void applyRun(final RunPreparation runPreparation) {
         
         IngredientCacheBuster.claim();
         SequenceManager.clearSequences();
@@ -74,7 +87,6 @@ public final class ScriptReloadListener extends SimplePreparableReloadListener<V
         
         this.feedbackConsumer.accept(MSG_RELOAD_STARTING);
         this.fixRecipeManager(manager);
-        final RunPreparation runPreparation = this.prepareRun();
         
         try {
             runPreparation.run().execute();
@@ -85,7 +97,7 @@ public final class ScriptReloadListener extends SimplePreparableReloadListener<V
             IngredientCacheBuster.release();
         }
         
-        this.storeScriptsInRecipes(manager, runPreparation.root(), runPreparation.scripts());
+        this.storeScriptsInRecipes(manager, runPreparation.scripts());
         
         this.feedbackConsumer.accept(MSG_RELOAD_COMPLETE);
         if(!runPreparation.scripts().isEmpty() && runPreparation.run().specificRunInfo().displayBranding()) {
@@ -132,37 +144,35 @@ public final class ScriptReloadListener extends SimplePreparableReloadListener<V
                 ScriptRunConfiguration.RunKind.EXECUTE
         );
         
-        final IScriptRun run = CraftTweakerAPI.getScriptRunManager()
-                .createScriptRun(CraftTweakerAPI.getScriptsDirectory(), discoveryConfiguration, runConfiguration);
+        // The tags loader runs the same scripts later in this reload, so they are read once for both runs
+        final ScriptSnapshot snapshot = ScriptRunManager.get().reloadSnapshot(this.reloadTagManager());
+        final IScriptRun run = ScriptRunManager.get()
+                .createScriptRun(snapshot, CraftTweakerAPI.getScriptsDirectory(), discoveryConfiguration, runConfiguration);
         
-        return new RunPreparation(run, retainer.root, retainer.scripts);
+        final List<ScriptRecipe> scripts = retainer.scripts.stream()
+                .map(it -> this.buildScriptRecipe(it, retainer.root, snapshot))
+                .toList();
+        return new RunPreparation(run, scripts);
     }
     
-    private void storeScriptsInRecipes(final RecipeManager manager, final Path root, final List<Path> scripts) {
+    private void storeScriptsInRecipes(final RecipeManager manager, final List<ScriptRecipe> scripts) {
         
         final Map<ResourceLocation, Recipe<?>> recipes = ((AccessRecipeManager) manager).crafttweaker$getRecipes()
                 .computeIfAbsent(ScriptRecipeType.INSTANCE, it -> new HashMap<>());
-        scripts.stream()
-                .map(it -> this.buildScriptRecipe(it, root))
-                .forEach(it -> recipes.put(it.getId(), it));
+        scripts.forEach(it -> recipes.put(it.getId(), it));
     }
     
-    private ScriptRecipe buildScriptRecipe(final Path file, final Path root) {
+    private TagManager reloadTagManager() {
         
-        final String fileName = root.relativize(file).toString().replace('\\', '/');
-        final String sanitizedFileName = fileName.toLowerCase(Locale.ENGLISH).replaceAll("[^a-z0-9_.-]", "_");
-        final ResourceLocation id = CraftTweakerConstants.rl(sanitizedFileName);
-        return new ScriptRecipe(id, fileName, this.readContents(file));
+        return ((AccessReloadableServerResources) this.resources).crafttweaker$getTagManager();
     }
     
-    private String readContents(final Path file) {
+    private ScriptRecipe buildScriptRecipe(final Path file, final Path root, final ScriptSnapshot snapshot) {
         
-        try {
-            return String.join("\n", Files.readAllLines(file));
-        } catch(final IOException e) {
-            CraftTweakerAPI.LOGGER.info("Unable to read script file " + file, e);
-            return "";
-        }
+        final String fileName = root.relativize(file).toString().replace('\\', '/');
+        final String sanitizedFileName = fileName.toLowerCase(Locale.ENGLISH).replaceAll("[^a-z0-9_.-]", "_");
+        final ResourceLocation id = CraftTweakerConstants.rl(sanitizedFileName);
+        return new ScriptRecipe(id, fileName, String.join("\n", snapshot.contents(file)));
     }
     
     @SuppressWarnings("SpellCheckingInspection")
@@ -1,18 +1,26 @@
 package com.blamejared.crafttweaker.impl.script;
 
-import com.google.common.base.Splitter;
-import com.google.common.collect.Lists;
 import com.google.gson.JsonObject;
+import io.netty.handler.codec.DecoderException;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.crafting.RecipeSerializer;
 
-import java.util.LinkedList;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 public class ScriptSerializer implements RecipeSerializer<ScriptRecipe> {
     
+    record CompressedContent(int size, byte[] data) {}
+    
     public static final ScriptSerializer INSTANCE = new ScriptSerializer();
     
+    private static final int MAX_SCRIPT_SIZE = 64 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 8192;
+    
     @Override
     public ScriptRecipe fromJson(ResourceLocation recipeId, JsonObject json) {
         // Please don't make scripts inside a datapack json 👀
@@ -23,23 +31,64 @@ public class ScriptSerializer implements RecipeSerializer<ScriptRecipe> {
     public ScriptRecipe fromNetwork(ResourceLocation recipeId, FriendlyByteBuf buffer) {
         
         String fileName = buffer.readUtf();
-        int parts = buffer.readVarInt();
-        StringBuilder script = new StringBuilder();
-        while(parts-- > 0) {
-            script.append(buffer.readUtf());
+        int size = buffer.readVarInt();
+        if(size < 0 || size > MAX_SCRIPT_SIZE) {
+            throw new DecoderException("Script " + fileName + " is too big: " + size + " bytes");
         }
-        return new ScriptRecipe(recipeId, fileName, script.toString());
+        return new ScriptRecipe(recipeId, fileName, decompress(buffer.readByteArray(), size, fileName));
     }
     
     @Override
     public void toNetwork(FriendlyByteBuf buffer, ScriptRecipe recipe) {
         
-        String contents = recipe.getContent();
-        LinkedList<String> split = Lists.newLinkedList(Splitter.fixedLength(Short.MAX_VALUE / Byte.SIZE)
-                .split(contents));
+        // The same recipe is sent to every player, so the compressed contents are computed only once
         buffer.writeUtf(recipe.getFileName());
-        buffer.writeVarInt(split.size());
-        split.forEach(buffer::writeUtf);
+        CompressedContent content = recipe.getCompressedContent();
+        buffer.writeVarInt(content.size());
+        buffer.writeByteArray(content.data());
+    }
+    
+    static CompressedContent compress(String script) {
+        
+        byte[] content = script.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(content.length / 4, 64));
+            byte[] chunk = new byte[BUFFER_SIZE];
+            while(!deflater.finished()) {
+                output.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return new CompressedContent(content.length, output.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    private static String decompress(byte[] compressed, int size, String fileName) {
+        
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] content = new byte[size];
+            int read = 0;
+            while(read < size) {
+                int inflated = inflater.inflate(content, read, size - read);
+                if(inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += inflated;
+            }
+            if(read != size) {
+                throw new DecoderException("Script " + fileName + " is corrupted: expected " + size + " bytes, got " + read);
+            }
+            return new String(content, StandardCharsets.UTF_8);
+        } catch(DataFormatException e) {
+            throw new DecoderException("Script " + fileName + " is corrupted", e);
+        } finally {
+            inflater.end();
+        }
     }
     
 }
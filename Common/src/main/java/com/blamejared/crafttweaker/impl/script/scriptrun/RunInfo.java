@@ -1,6 +1,7 @@
 package com.blamejared.crafttweaker.impl.script.scriptrun;
 
 import com.blamejared.crafttweaker.api.action.base.IAction;
+import com.blamejared.crafttweaker.api.action.base.IUndoableAction;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptRunInfo;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptRunConfiguration;
 
@@ -32,6 +33,7 @@ final class RunInfo implements IScriptRunInfo {
     private final ScriptRunConfiguration configuration;
     private final Actions actions;
     private final ActionsView view;
+    private final UndoJournal undoJournal;
     private boolean displayBranding;
     private boolean dumpClasses;
     private Boolean firstRun;
@@ -41,6 +43,7 @@ final class RunInfo implements IScriptRunInfo {
         this.configuration = configuration;
         this.actions = new Actions();
         this.view = new ActionsView(this.actions);
+        this.undoJournal = new UndoJournal();
         this.displayBranding = true;
         this.dumpClasses = false;
         this.firstRun = null;
@@ -100,6 +103,14 @@ final class RunInfo implements IScriptRunInfo {
     void enqueueAction(final IAction action, final boolean valid) {
         
         (valid ? this.actions.validActions() : this.actions.invalidActions()).add(action);
+        if(valid && action instanceof IUndoableAction undoable) {
+            this.undoJournal.record(undoable);
+        }
+    }
+    
+    UndoJournal undoJournal() {
+        
+        return this.undoJournal;
     }
     
     void isFirstRun(final boolean isFirstRun) {
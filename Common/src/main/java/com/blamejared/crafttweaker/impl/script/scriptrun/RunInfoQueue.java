@@ -1,15 +1,14 @@
 package com.blamejared.crafttweaker.impl.script.scriptrun;
 
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
-import com.blamejared.crafttweaker.api.action.base.IUndoableAction;
 
 import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Objects;
-import java.util.Queue;
 
 final class RunInfoQueue {
     
-    private final Queue<RunInfo> queue;
+    private final Deque<RunInfo> queue;
     private RunInfo previous;
     private boolean firstRun;
     
@@ -43,16 +42,12 @@ final class RunInfoQueue {
         }
         
         CraftTweakerAPI.LOGGER.info("Undoing previous actions");
+        final UndoJournal.Statistics statistics = new UndoJournal.Statistics();
+        // Most recent runs are undone first, so that actions are rolled back in the opposite order they were applied
         while(!this.queue.isEmpty()) {
-            final RunInfo previous = this.queue.poll();
-            previous.appliedActions()
-                    .stream()
-                    .filter(IUndoableAction.class::isInstance)
-                    .filter(it -> it.shouldApplyOn(previous.loadSource()))
-                    .map(IUndoableAction.class::cast)
-                    .peek(it -> CraftTweakerAPI.LOGGER.info(it.describeUndo()))
-                    .forEach(IUndoableAction::undo);
+            this.queue.pollLast().undoJournal().replay(statistics);
         }
+        statistics.log();
     }
     
 }
@@ -33,6 +33,17 @@ import java.util.stream.Stream;
 
 final class ScriptFile implements IScriptFile {
     
+    record Scan(List<String> contents, Map<IPreprocessor, List<IPreprocessor.Match>> matches) {
+        
+        Scan {
+            contents = ImmutableList.copyOf(contents);
+            matches = matches.entrySet()
+                    .stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, it -> List.copyOf(it.getValue())));
+        }
+        
+    }
+    
     private record PreprocessedData(List<String> contents, boolean allowLoading) {}
     
     private final String fileName;
@@ -57,24 +68,44 @@ final class ScriptFile implements IScriptFile {
     
     static ScriptFile of(final String name, final Stream<String> lines, final RunInfo info, final Collection<IPreprocessor> preprocessors) {
         
+        return of(name, scan(lines, preprocessors), info);
+    }
+    
+    static ScriptFile of(final String name, final Scan scan, final RunInfo info) {
+        
+        return new ScriptFile(name, scan.matches(), scan.contents(), info);
+    }
+    
+    /**
+     * Reads the given file and looks for the preprocessors it contains.
+     *
+     * <p>The result does not depend on the run the file will be part of, so it can be shared among all runs that load
+     * the same file.</p>
+     */
+    static Scan scan(final Path file, final Collection<IPreprocessor> preprocessors) {
+        
+        try(final Stream<String> lines = lines(file)) {
+            return scan(lines, preprocessors);
+        }
+    }
+    
+    private static Scan scan(final Stream<String> lines, final Collection<IPreprocessor> preprocessors) {
+        
         final Map<String, IPreprocessor> fastPreprocessorLookupMap = buildFastLookupMap(preprocessors);
         final Pair<List<String>, Map<IPreprocessor, List<IPreprocessor.Match>>> data = read(lines, fastPreprocessorLookupMap);
         preprocessors.forEach(pp -> data.getSecond().computeIfAbsent(
                 pp,
                 it -> pp.defaultValue() != null ? List.of(new IPreprocessor.Match(pp, -1, pp.defaultValue())) : null
         ));
-        return new ScriptFile(name, data.getSecond(), data.getFirst(), info);
+        return new Scan(data.getFirst(), data.getSecond());
     }
     
-    static ScriptFile of(final Path baseDirectory, final Path file, final RunInfo info, final Collection<IPreprocessor> preprocessors) {
+    static String nameOf(final Path baseDirectory, final Path file) {
         
         if(!verifyChild(baseDirectory, file)) {
             throw new IllegalArgumentException("File " + file + " is not contained within " + baseDirectory);
         }
-        final String name = baseDirectory.toAbsolutePath().relativize(file.toAbsolutePath()).toString();
-        try(final Stream<String> lines = lines(file)) {
-            return of(name, lines, info, preprocessors);
-        }
+        return baseDirectory.toAbsolutePath().relativize(file.toAbsolutePath()).toString();
     }
     
     private static boolean verifyChild(final Path parent, final Path file) {
@@ -3,6 +3,7 @@ package com.blamejared.crafttweaker.impl.script.scriptrun;
 import com.blamejared.crafttweaker.CraftTweakerCommon;
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
 import com.blamejared.crafttweaker.api.logger.CraftTweakerLogger;
+import com.blamejared.crafttweaker.api.recipe.RecipeRemovalPlanner;
 import com.blamejared.crafttweaker.api.zencode.IScriptLoader;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptRun;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptRunInfo;
@@ -80,6 +81,8 @@ final class ScriptRun implements IScriptRun {
     private void executeRun() throws Exception {
         
         try {
+            // Plans left over by a run that did not complete must not be applied to this one
+            RecipeRemovalPlanner.reset();
             this.runInfoSetter.accept(this.info);
             
             final DecoratedRunKind runKind = DecoratedRunKind.decorate(this.info.configuration().runKind());
@@ -87,7 +90,13 @@ final class ScriptRun implements IScriptRun {
             final IScriptRunner runner = runKind.runner(this.info, this.sources, logger);
             runner.run();
         } finally {
-            this.runInfoSetter.accept(null);
+            try {
+                // Removals planned by the scripts have to be visible once the run is over
+                RecipeRemovalPlanner.applyAll();
+            } finally {
+                RecipeRemovalPlanner.reset();
+                this.runInfoSetter.accept(null);
+            }
         }
     }
     
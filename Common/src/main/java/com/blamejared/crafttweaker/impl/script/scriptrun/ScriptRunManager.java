@@ -3,6 +3,8 @@ package com.blamejared.crafttweaker.impl.script.scriptrun;
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
 import com.blamejared.crafttweaker.api.action.base.IAction;
 import com.blamejared.crafttweaker.api.action.base.IRuntimeAction;
+import com.blamejared.crafttweaker.api.action.recipe.IPlannedRecipeRemoval;
+import com.blamejared.crafttweaker.api.recipe.RecipeRemovalPlanner;
 import com.blamejared.crafttweaker.api.zencode.IPreprocessor;
 import com.blamejared.crafttweaker.api.zencode.IScriptLoader;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptFile;
@@ -13,8 +15,12 @@ import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptDiscoveryConfigur
 import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptRunConfiguration;
 import com.blamejared.crafttweaker.impl.helper.FileGathererHelper;
 import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.minecraft.tags.TagManager;
 import org.openzen.zencode.shared.SourceFile;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.FileSystem;
@@ -22,11 +28,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -45,12 +51,16 @@ public final class ScriptRunManager implements IScriptRunManager {
     });
     
     private final Map<IScriptLoader, RunInfoQueue> previousRunQueues;
+    private final Cache<TagManager, ScriptSnapshot> reloadSnapshots;
     private final ThreadLocal<Integer> nestingLevel;
     private RunInfo currentRunInfo;
     
     private ScriptRunManager() {
         
-        this.previousRunQueues = new HashMap<>();
+        // Runs may be created off-thread, e.g. while preparing a reload
+        this.previousRunQueues = new ConcurrentHashMap<>();
+        // A reload that fails never ends its snapshot, so snapshots must not outlive the tag manager of their reload
+        this.reloadSnapshots = CacheBuilder.newBuilder().weakKeys().build();
         this.nestingLevel = ThreadLocal.withInitial(() -> 0);
         this.currentRunInfo = null;
     }
@@ -81,11 +91,67 @@ public final class ScriptRunManager implements IScriptRunManager {
     @Override
     public IScriptRun createScriptRun(final Path root, final List<Path> files, final ScriptRunConfiguration configuration) {
         
+        return this.createScriptRun(root, files, configuration, null);
+    }
+    
+    /**
+     * Creates a script run for the scripts in the given directory, reading them through the given snapshot.
+     *
+     * @param snapshot               The {@link ScriptSnapshot} of the reload the run belongs to.
+     * @param root                   The directory containing the scripts.
+     * @param discoveryConfiguration The configuration used to discover the scripts.
+     * @param runConfiguration       The configuration of the run.
+     *
+     * @return The created run.
+     */
+    public IScriptRun createScriptRun(final ScriptSnapshot snapshot, final Path root, final ScriptDiscoveryConfiguration discoveryConfiguration, final ScriptRunConfiguration runConfiguration) {
+        
+        return this.createScriptRun(root, this.lookupScriptFiles(root, discoveryConfiguration), runConfiguration, snapshot);
+    }
+    
+    @Override
+    public IScriptRun createScriptRun(final List<SourceFile> sources, final ScriptRunConfiguration configuration) {
+        
+        return this.createScriptRun(sources, RunInfo.create(configuration));
+    }
+    
+    /**
+     * Gets the snapshot shared by the runs of the reload identified by the given tag manager, creating it if needed.
+     *
+     * <p>Every reload creates its own {@link TagManager}, so a snapshot can never be shared with the runs of another
+     * reload. The snapshot is discarded when the reload {@linkplain #endReload(TagManager) ends}, or once its tag
+     * manager is no longer in use if the reload fails before that.</p>
+     *
+     * @param reload The tag manager of the reload.
+     *
+     * @return The snapshot of the reload.
+     */
+    public ScriptSnapshot reloadSnapshot(final TagManager reload) {
+        
+        return this.reloadSnapshots.asMap().computeIfAbsent(reload, it -> new ScriptSnapshot());
+    }
+    
+    /**
+     * Ends the reload identified by the given tag manager, discarding the contents of the script files read during it.
+     *
+     * @param reload The tag manager of the reload.
+     */
+    public void endReload(final TagManager reload) {
+        
+        this.reloadSnapshots.invalidate(reload);
+    }
+    
+    private IScriptRun createScriptRun(final Path root, final List<Path> files, final ScriptRunConfiguration configuration, @Nullable final ScriptSnapshot snapshot) {
+        
         final List<IPreprocessor> preprocessors = CraftTweakerAPI.getRegistry().getPreprocessors();
         final RunInfo info = RunInfo.create(configuration);
-        final List<SourceFile> sources = files
+        // Reading files and looking for preprocessors is independent for every file, unlike preprocessing itself
+        final List<ScriptFile> scriptFiles = files
+                .parallelStream()
+                .map(it -> ScriptFile.of(ScriptFile.nameOf(root, it), this.scan(it, preprocessors, snapshot), info))
+                .toList();
+        final List<SourceFile> sources = scriptFiles
                 .stream()
-                .map(it -> ScriptFile.of(root, it, info, preprocessors))
                 .sorted(FILE_COMPARATOR.get())
                 .map(ScriptFile::toSourceFile)
                 .filter(Optional::isPresent)
@@ -94,12 +160,6 @@ public final class ScriptRunManager implements IScriptRunManager {
         return this.createScriptRun(sources, info);
     }
     
-    @Override
-    public IScriptRun createScriptRun(final List<SourceFile> sources, final ScriptRunConfiguration configuration) {
-        
-        return this.createScriptRun(sources, RunInfo.create(configuration));
-    }
-    
     @Override
     public IScriptRunInfo currentRunInfo() {
         
@@ -133,6 +193,12 @@ public final class ScriptRunManager implements IScriptRunManager {
         );
     }
     
+    private ScriptFile.Scan scan(final Path file, final List<IPreprocessor> preprocessors, @Nullable final ScriptSnapshot snapshot) {
+        
+        // Only the runs of a reload share its snapshot, so that other runs always see the files as they are now
+        return snapshot != null ? snapshot.scan(file, preprocessors) : ScriptFile.scan(file, preprocessors);
+    }
+    
     private List<Path> lookupScriptFiles(final Path root, final ScriptDiscoveryConfiguration discoveryConfiguration) {
         
         try {
@@ -208,6 +274,11 @@ public final class ScriptRunManager implements IScriptRunManager {
                 return;
             }
             
+            if(!(action instanceof IPlannedRecipeRemoval)) {
+                // Any other action may depend on the recipes removed by the actions before it
+                RecipeRemovalPlanner.applyAll();
+            }
+            
             if(!action.validate(CraftTweakerAPI.LOGGER)) {
                 info.enqueueAction(action, false);
                 return;
@@ -0,0 +1,51 @@
+package com.blamejared.crafttweaker.impl.script.scriptrun;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.zencode.IPreprocessor;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@linkplain ScriptFile.Scan scans} of the script files read during a single reload.
+ *
+ * <p>A reload runs the same scripts for multiple loaders, e.g. for the tags and the default loaders, and then stores
+ * them in the recipe manager to send them to clients. Every file is therefore read, split into lines and scanned for
+ * preprocessors the first time it is needed during the reload, and the same scan is handed to every other user until
+ * the reload is over and the snapshot is discarded.</p>
+ *
+ * <p>Snapshots are obtained through {@link ScriptRunManager#reloadSnapshot(net.minecraft.tags.TagManager)} and only
+ * used by the runs that are explicitly given one, so they can never leak into runs outside their reload.</p>
+ *
+ * <p>The preprocessors are fixed once the registry has been built, so they are not part of the key.</p>
+ */
+public final class ScriptSnapshot {
+    
+    private final Map<Path, ScriptFile.Scan> scans;
+    
+    ScriptSnapshot() {
+        
+        this.scans = new ConcurrentHashMap<>();
+    }
+    
+    /**
+     * Gets the lines of the given script file as seen by the runs of this reload.
+     *
+     * @param file The script file.
+     *
+     * @return The lines of the file.
+     */
+    public List<String> contents(final Path file) {
+        
+        return this.scan(file, CraftTweakerAPI.getRegistry().getPreprocessors()).contents();
+    }
+    
+    ScriptFile.Scan scan(final Path file, final Collection<IPreprocessor> preprocessors) {
+        
+        return this.scans.computeIfAbsent(file.toAbsolutePath().normalize(), it -> ScriptFile.scan(file, preprocessors));
+    }
+    
+}
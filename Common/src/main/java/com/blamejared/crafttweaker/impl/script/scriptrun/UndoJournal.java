@@ -0,0 +1,161 @@
+package com.blamejared.crafttweaker.impl.script.scriptrun;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.action.base.IBatchUndoableAction;
+import com.blamejared.crafttweaker.api.action.base.IUndoableAction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Append-only log of the {@link IUndoableAction}s applied during a script run, used to roll them back in reverse order.
+ */
+final class UndoJournal {
+    
+    /**
+     * Collects how many actions of each type have been undone and how long it took.
+     */
+    static final class Statistics {
+        
+        private final Map<Class<?>, long[]> byType;
+        
+        Statistics() {
+            
+            this.byType = new HashMap<>();
+        }
+        
+        void record(final Class<?> type, final int count, final long nanos) {
+            
+            final long[] data = this.byType.computeIfAbsent(type, it -> new long[2]);
+            data[0] += count;
+            data[1] += nanos;
+        }
+        
+        void log() {
+            
+            if(this.byType.isEmpty()) {
+                return;
+            }
+            
+            final long count = this.byType.values().stream().mapToLong(it -> it[0]).sum();
+            final long nanos = this.byType.values().stream().mapToLong(it -> it[1]).sum();
+            CraftTweakerAPI.LOGGER.info("Undid {} actions in {} ms", count, nanos / 1_000_000L);
+            this.byType.entrySet()
+                    .stream()
+                    .sorted(Map.Entry.<Class<?>, long[]> comparingByValue((a, b) -> Long.compare(b[1], a[1])))
+                    .forEach(it -> CraftTweakerAPI.LOGGER.debug(
+                            "- {}: {} actions in {} ms",
+                            it.getKey().getName(),
+                            it.getValue()[0],
+                            it.getValue()[1] / 1_000_000L
+                    ));
+        }
+        
+    }
+    
+    private static final int INITIAL_CAPACITY = 64;
+    
+    private IUndoableAction[] entries;
+    private int size;
+    
+    UndoJournal() {
+        
+        this.entries = new IUndoableAction[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+    
+    void record(final IUndoableAction action) {
+        
+        if(this.size == this.entries.length) {
+            this.entries = Arrays.copyOf(this.entries, this.size * 2);
+        }
+        this.entries[this.size++] = Objects.requireNonNull(action, "action");
+    }
+    
+    int size() {
+        
+        return this.size;
+    }
+    
+    /**
+     * Undoes all recorded actions, starting from the most recent one, then clears the journal.
+     *
+     * <p>Consecutive {@link IBatchUndoableAction}s that share batch group and target are undone together.</p>
+     *
+     * @param statistics The statistics the timings of the undone actions should be recorded into.
+     */
+    void replay(final Statistics statistics) {
+        
+        int current = this.size - 1;
+        while(current >= 0) {
+            
+            final IUndoableAction action = this.entries[current];
+            final long start = System.nanoTime();
+            
+            if(action instanceof IBatchUndoableAction batchable) {
+                
+                final List<IBatchUndoableAction> batch = this.collectBatch(batchable, current);
+                this.undoBatch(batchable, batch);
+                current -= batch.size();
+                statistics.record(action.getClass(), batch.size(), System.nanoTime() - start);
+                continue;
+            }
+            
+            this.undo(action);
+            --current;
+            statistics.record(action.getClass(), 1, System.nanoTime() - start);
+        }
+        
+        Arrays.fill(this.entries, 0, this.size, null);
+        this.size = 0;
+    }
+    
+    private List<IBatchUndoableAction> collectBatch(final IBatchUndoableAction first, final int from) {
+        
+        final Object group = first.undoBatchGroup();
+        final Object target = first.undoTarget();
+        final List<IBatchUndoableAction> batch = new ArrayList<>();
+        batch.add(first);
+        
+        for(int i = from - 1; i >= 0; --i) {
+            
+            if(!(this.entries[i] instanceof IBatchUndoableAction next) || !group.equals(next.undoBatchGroup()) || !Objects.equals(target, next.undoTarget())) {
+                break;
+            }
+            batch.add(next);
+        }
+        
+        return batch;
+    }
+    
+    private void undoBatch(final IBatchUndoableAction first, final List<IBatchUndoableAction> batch) {
+        
+        if(CraftTweakerAPI.LOGGER.isDebugEnabled()) {
+            batch.forEach(it -> CraftTweakerAPI.LOGGER.debug(it.describeUndo()));
+        }
+        
+        try {
+            first.undoBatch(batch);
+        } catch(final Exception e) {
+            CraftTweakerAPI.LOGGER.error("Unable to undo a batch of {} actions starting with '{}' due to an error", batch.size(), first.describeUndo(), e);
+        }
+    }
+    
+    private void undo(final IUndoableAction action) {
+        
+        if(CraftTweakerAPI.LOGGER.isDebugEnabled()) {
+            CraftTweakerAPI.LOGGER.debug(action.describeUndo());
+        }
+        
+        try {
+            action.undo();
+        } catch(final Exception e) {
+            CraftTweakerAPI.LOGGER.error("Unable to undo action '{}' due to an error", action.describeUndo(), e);
+        }
+    }
+    
+}
@@ -19,7 +19,7 @@ import java.lang.reflect.Method;
 final class CtJavaNativeClassConverter extends JavaNativeClassConverter {
     
     private final IZenClassRegistry zenClassRegistry;
-    private final IScriptRunInfo info;
+    private final NativeConversionCache cache;
     
     CtJavaNativeClassConverter(
             final JavaNativePackageInfo packageInfo,
@@ -33,7 +33,7 @@ final class CtJavaNativeClassConverter extends JavaNativeClassConverter {
         
         super(typeConverter, memberConverter, packageInfo, typeConversionContext, headerConverter);
         this.zenClassRegistry = zenClassRegistry;
-        this.info = info;
+        this.cache = NativeConversionCache.of(zenClassRegistry, info.loader());
     }
     
     @Override
@@ -62,25 +62,25 @@ final class CtJavaNativeClassConverter extends JavaNativeClassConverter {
     @Override
     protected ZenCodeType.Constructor getConstructorAnnotation(final Constructor<?> constructor) {
         
-        return this.getNativeTypeRegistry()
+        return this.cache.annotation(constructor, ZenCodeType.Constructor.class, () -> this.getNativeTypeRegistry()
                 .getExecutableReferenceInfoFor(constructor)
                 .flatMap(it -> it.getAnnotation(ZenCodeType.Constructor.class))
-                .orElseGet(() -> super.getConstructorAnnotation(constructor));
+                .orElseGet(() -> super.getConstructorAnnotation(constructor)));
     }
     
     
     @Override
     protected <T extends Annotation> T getAnnotation(final Method method, final Class<T> cls) {
         
-        return this.getNativeTypeRegistry()
+        return this.cache.annotation(method, cls, () -> this.getNativeTypeRegistry()
                 .getExecutableReferenceInfoFor(method)
                 .flatMap(it -> it.getAnnotation(cls))
-                .orElseGet(() -> super.getAnnotation(method, cls));
+                .orElseGet(() -> super.getAnnotation(method, cls)));
     }
     
     private INativeTypeRegistry getNativeTypeRegistry() {
         
-        return this.zenClassRegistry.getNativeTypeRegistry(this.info.loader());
+        return this.cache.nativeTypeRegistry();
     }
     
 }
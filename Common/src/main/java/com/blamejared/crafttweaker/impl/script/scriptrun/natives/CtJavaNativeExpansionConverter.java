@@ -12,12 +12,9 @@ import org.openzen.zencode.java.module.converters.JavaNativePackageInfo;
 import org.openzen.zencode.java.module.converters.JavaNativeTypeConverter;
 import org.openzen.zencode.shared.logging.IZSLogger;
 
-import java.util.Map;
-import java.util.stream.Collectors;
-
 final class CtJavaNativeExpansionConverter extends JavaNativeExpansionConverter {
     
-    private final Map<Class<?>, String> expansionTargets;
+    private final NativeConversionCache cache;
     
     CtJavaNativeExpansionConverter(
             final JavaNativeTypeConverter typeConverter,
@@ -31,17 +28,7 @@ final class CtJavaNativeExpansionConverter extends JavaNativeExpansionConverter
     ) {
         
         super(typeConverter, logger, packageInfo, memberConverter, typeConversionContext, headerConverter);
-        this.expansionTargets = buildExpansionTargetsFrom(info, registry);
-    }
-    
-    private static Map<Class<?>, String> buildExpansionTargetsFrom(final IScriptRunInfo info, final IZenClassRegistry registry) {
-        
-        // TODO("Move away from IClassData")
-        return registry.getClassData(info.loader())
-                .expansions()
-                .entries()
-                .stream()
-                .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+        this.cache = NativeConversionCache.of(registry, info.loader());
     }
     
     @Override
@@ -50,7 +37,7 @@ final class CtJavaNativeExpansionConverter extends JavaNativeExpansionConverter
         // TODO("Might be interesting to move away from annotations completely in here")
         if(cls.isAnnotationPresent(NativeTypeRegistration.class) || cls.isAnnotationPresent(TypedExpansion.class)) {
             
-            final String name = this.expansionTargets.get(cls);
+            final String name = this.cache.expansionTarget(cls);
             return name == null ? super.getExpandedName(cls) : name;
         }
         return super.getExpandedName(cls);
@@ -0,0 +1,75 @@
+package com.blamejared.crafttweaker.impl.script.scriptrun.natives;
+
+import com.blamejared.crafttweaker.api.natives.INativeTypeRegistry;
+import com.blamejared.crafttweaker.api.zencode.IScriptLoader;
+import com.blamejared.crafttweaker.api.zencode.IZenClassRegistry;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Executable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the data the native converters compute from the {@link IZenClassRegistry} for a given loader, so that it is
+ * computed once per registry instead of once per native module of every script run.
+ */
+final class NativeConversionCache {
+    
+    private record AnnotationKey(Executable executable, Class<? extends Annotation> type) {}
+    
+    private static final Map<IScriptLoader, NativeConversionCache> CACHES = new ConcurrentHashMap<>();
+    
+    private final IZenClassRegistry registry;
+    private final INativeTypeRegistry nativeTypeRegistry;
+    private final Map<Class<?>, String> expansionTargets;
+    private final Map<AnnotationKey, Optional<Annotation>> annotations;
+    
+    private NativeConversionCache(final IZenClassRegistry registry, final IScriptLoader loader) {
+        
+        this.registry = registry;
+        this.nativeTypeRegistry = registry.getNativeTypeRegistry(loader);
+        this.expansionTargets = buildExpansionTargetsFrom(registry, loader);
+        this.annotations = new ConcurrentHashMap<>();
+    }
+    
+    static NativeConversionCache of(final IZenClassRegistry registry, final IScriptLoader loader) {
+        
+        return CACHES.compute(loader, (key, cache) -> cache != null && cache.registry == registry ? cache : new NativeConversionCache(registry, key));
+    }
+    
+    private static Map<Class<?>, String> buildExpansionTargetsFrom(final IZenClassRegistry registry, final IScriptLoader loader) {
+        
+        // TODO("Move away from IClassData")
+        return registry.getClassData(loader)
+                .expansions()
+                .entries()
+                .stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getValue, Map.Entry::getKey));
+    }
+    
+    INativeTypeRegistry nativeTypeRegistry() {
+        
+        return this.nativeTypeRegistry;
+    }
+    
+    String expansionTarget(final Class<?> expansion) {
+        
+        return this.expansionTargets.get(expansion);
+    }
+    
+    <T extends Annotation> T annotation(final Executable executable, final Class<T> type, final Supplier<T> lookup) {
+        
+        // Not using computeIfAbsent, as the lookup may query the annotations of other executables
+        final AnnotationKey key = new AnnotationKey(executable, type);
+        Optional<Annotation> annotation = this.annotations.get(key);
+        if(annotation == null) {
+            annotation = Optional.ofNullable(lookup.get());
+            this.annotations.put(key, annotation);
+        }
+        return annotation.map(type::cast).orElse(null);
+    }
+    
+}
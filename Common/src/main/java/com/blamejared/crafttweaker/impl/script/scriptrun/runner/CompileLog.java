@@ -0,0 +1,198 @@
+package com.blamejared.crafttweaker.impl.script.scriptrun.runner;
+
+import org.openzen.zencode.java.logger.ScriptingEngineLogger;
+import org.openzen.zencode.shared.CompileException;
+import org.openzen.zencode.shared.SourceFile;
+import org.openzen.zenscript.validator.ValidationLogEntry;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link ScriptingEngineLogger} that records the messages logged while scripts are being compiled, so that they can
+ * be logged again when the compiled scripts are reused without compiling them.
+ *
+ * <p>Every message is passed on to the wrapped logger as it arrives. Recording stops once compilation is over, so that
+ * messages logged while the scripts run are not replayed.</p>
+ */
+final class CompileLog implements ScriptingEngineLogger {
+    
+    enum Kind {
+        SOURCE_FILE,
+        INFO,
+        DEBUG,
+        TRACE,
+        WARNING,
+        ERROR
+    }
+    
+    record Line(Kind kind, String message) {}
+    
+    private final ScriptingEngineLogger delegate;
+    private final List<Line> lines;
+    private boolean recording;
+    
+    CompileLog(final ScriptingEngineLogger delegate) {
+        
+        this.delegate = delegate;
+        this.lines = new ArrayList<>();
+        this.recording = true;
+    }
+    
+    /**
+     * Logs the given lines again through the given logger.
+     *
+     * @param lines   The lines to log.
+     * @param logger  The logger to log them with.
+     * @param sources The sources of the run, used to find the files that were loaded.
+     */
+    static void replay(final List<Line> lines, final ScriptingEngineLogger logger, final List<SourceFile> sources) {
+        
+        final Map<String, SourceFile> byName = sources.stream()
+                .collect(Collectors.toMap(SourceFile::getFilename, Function.identity(), (a, b) -> a));
+        for(final Line line : lines) {
+            switch(line.kind()) {
+                case SOURCE_FILE -> {
+                    final SourceFile file = byName.get(line.message());
+                    if(file != null) {
+                        logger.logSourceFile(file);
+                    }
+                }
+                case INFO -> logger.info(line.message());
+                case DEBUG -> logger.debug(line.message());
+                case TRACE -> logger.trace(line.message());
+                case WARNING -> logger.warning(line.message());
+                case ERROR -> logger.error(line.message());
+            }
+        }
+    }
+    
+    static void write(final List<Line> lines, final DataOutputStream out) throws IOException {
+        
+        out.writeInt(lines.size());
+        for(final Line line : lines) {
+            out.writeByte(line.kind().ordinal());
+            // writeUTF is limited to 64 KiB, which long messages such as stack traces could exceed
+            final byte[] message = line.message().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(message.length);
+            out.write(message);
+        }
+    }
+    
+    static List<Line> read(final DataInputStream in) throws IOException {
+        
+        final int size = in.readInt();
+        final List<Line> lines = new ArrayList<>(size);
+        for(int i = 0; i < size; ++i) {
+            final int ordinal = in.readUnsignedByte();
+            if(ordinal >= Kind.values().length) {
+                throw new IOException("Unknown kind of compile log line: " + ordinal);
+            }
+            final Kind kind = Kind.values()[ordinal];
+            final byte[] message = in.readNBytes(in.readInt());
+            lines.add(new Line(kind, new String(message, StandardCharsets.UTF_8)));
+        }
+        return List.copyOf(lines);
+    }
+    
+    /**
+     * Stops recording and gets the lines that were recorded.
+     *
+     * @return The recorded lines.
+     */
+    List<Line> stop() {
+        
+        this.recording = false;
+        return List.copyOf(this.lines);
+    }
+    
+    private void remember(final Kind kind, final String message) {
+        
+        if(this.recording) {
+            this.lines.add(new Line(kind, message));
+        }
+    }
+    
+    @Override
+    public void logCompileException(final CompileException exception) {
+        
+        // Scripts that fail to compile are never cached, so there is nothing to replay
+        this.delegate.logCompileException(exception);
+    }
+    
+    @Override
+    public void info(final String message) {
+        
+        this.remember(Kind.INFO, message);
+        this.delegate.info(message);
+    }
+    
+    @Override
+    public void debug(final String message) {
+        
+        this.remember(Kind.DEBUG, message);
+        this.delegate.debug(message);
+    }
+    
+    @Override
+    public void trace(final String message) {
+        
+        this.remember(Kind.TRACE, message);
+        this.delegate.trace(message);
+    }
+    
+    @Override
+    public void warning(final String message) {
+        
+        this.remember(Kind.WARNING, message);
+        this.delegate.warning(message);
+    }
+    
+    @Override
+    public void error(final String message) {
+        
+        this.remember(Kind.ERROR, message);
+        this.delegate.error(message);
+    }
+    
+    @Override
+    public void throwingErr(final String message, final Throwable throwable) {
+        
+        this.delegate.throwingErr(message, throwable);
+    }
+    
+    @Override
+    public void throwingWarn(final String message, final Throwable throwable) {
+        
+        this.delegate.throwingWarn(message, throwable);
+    }
+    
+    @Override
+    public void logSourceFile(final SourceFile file) {
+        
+        this.remember(Kind.SOURCE_FILE, file.getFilename());
+        this.delegate.logSourceFile(file);
+    }
+    
+    @Override
+    public void logValidationError(final ValidationLogEntry errorEntry) {
+        
+        this.remember(Kind.ERROR, errorEntry.position + ": " + errorEntry.message);
+        this.delegate.logValidationError(errorEntry);
+    }
+    
+    @Override
+    public void logValidationWarning(final ValidationLogEntry warningEntry) {
+        
+        this.remember(Kind.WARNING, warningEntry.position + ": " + warningEntry.message);
+        this.delegate.logValidationWarning(warningEntry);
+    }
+    
+}
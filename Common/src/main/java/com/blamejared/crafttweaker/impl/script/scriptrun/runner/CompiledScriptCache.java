@@ -0,0 +1,362 @@
+package com.blamejared.crafttweaker.impl.script.scriptrun.runner;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
+import com.blamejared.crafttweaker.api.util.PathUtil;
+import com.blamejared.crafttweaker.api.zencode.IScriptLoader;
+import com.blamejared.crafttweaker.api.zencode.IZenClassRegistry;
+import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptRunInfo;
+import com.blamejared.crafttweaker.platform.Services;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.CharStreams;
+import org.openzen.zencode.shared.SourceFile;
+import org.openzen.zenscript.javabytecode.JavaBytecodeRunUnit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the compiled scripts of the last successful run of each loader, so that a run whose preprocessed sources did
+ * not change can execute the already compiled classes without parsing and compiling the scripts again.
+ *
+ * <p>Compiled classes are kept both in memory and on disk, so that they also survive a restart of the game. Entries on
+ * disk are keyed by a hash of the sources, the loader, the classes and mods that make up the native surface exposed
+ * to scripts and the registry entries and tags that brackets are validated against: any change to one of those ends up
+ * in a different key and thus invalidates the entry.</p>
+ *
+ * <p>ZenCode compiles all scripts of a run as a single module, so a change in any file invalidates the whole entry.
+ * Every entry also keeps the {@linkplain CompileLog messages logged while compiling}, so that warnings keep showing up
+ * on the runs that reuse it.</p>
+ */
+final class CompiledScriptCache {
+    
+    record FileFingerprint(String name, HashCode hash) {}
+    
+    record Fingerprint(String loader, List<FileFingerprint> files, HashCode environment) {
+        
+        HashCode key() {
+            
+            final Hasher hasher = Hashing.sha256().newHasher();
+            hasher.putString(this.loader(), StandardCharsets.UTF_8);
+            hasher.putBytes(this.environment().asBytes());
+            this.files().forEach(it -> hasher.putString(it.name(), StandardCharsets.UTF_8).putBytes(it.hash().asBytes()));
+            return hasher.hash();
+        }
+        
+    }
+    
+    @FunctionalInterface
+    interface CompiledScripts {
+        
+        void run();
+        
+    }
+    
+    record Entry(Fingerprint fingerprint, CompiledScripts scripts, List<CompileLog.Line> log) {}
+    
+    private record Environment(int tagGeneration, Object registries, HashCode hash) {}
+    
+    private static final class CachedClassLoader extends ClassLoader {
+        
+        private final Map<String, byte[]> classes;
+        
+        CachedClassLoader(final Map<String, byte[]> classes, final ClassLoader parent) {
+            
+            super(parent);
+            this.classes = classes;
+        }
+        
+        @Override
+        protected Class<?> findClass(final String name) throws ClassNotFoundException {
+            
+            final byte[] data = this.classes.get(name);
+            if(data == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return this.defineClass(name, data, 0, data.length);
+        }
+        
+    }
+    
+    static final CompiledScriptCache INSTANCE = new CompiledScriptCache();
+    
+    private static final boolean DISK_CACHE = !Boolean.getBoolean("crafttweaker.scripts.disableDiskCache");
+    private static final String CACHE_DIRECTORY = "ct_cache/scripts";
+    private static final String COMPLETE_MARKER = ".complete";
+    private static final String COMPILE_LOG = "compile.log";
+    private static final String TEMPORARY_PREFIX = ".tmp-";
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String ENTRY_POINT_CLASS = "Scripts";
+    private static final String ENTRY_POINT_METHOD = "run";
+    
+    private static final Map<String, Environment> ENVIRONMENTS = new ConcurrentHashMap<>();
+    
+    private final Map<String, Entry> entries;
+    
+    private CompiledScriptCache() {
+        
+        this.entries = new ConcurrentHashMap<>();
+    }
+    
+    static Optional<Fingerprint> fingerprint(final IScriptRunInfo info, final List<SourceFile> sources) {
+        
+        final List<FileFingerprint> files = new ArrayList<>(sources.size());
+        for(final SourceFile source : sources) {
+            try(final Reader reader = source.open()) {
+                final HashCode hash = Hashing.sha256().hashString(CharStreams.toString(reader), StandardCharsets.UTF_8);
+                files.add(new FileFingerprint(source.getFilename(), hash));
+            } catch(final IOException e) {
+                CraftTweakerAPI.LOGGER.debug("Unable to fingerprint script {}: compiled scripts will not be cached", source.getFilename(), e);
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new Fingerprint(info.loader().name(), List.copyOf(files), environment(info.loader())));
+    }
+    
+    private static HashCode environment(final IScriptLoader loader) {
+        
+        // Classes and mods cannot change while the game runs, so only a reload or a change to tags can alter the result
+        final int tagGeneration = CraftTweakerTagRegistry.INSTANCE.generation();
+        final Object registries = CraftTweakerAPI.getAccessibleElementsProvider().hasRegistryAccess() ?
+                CraftTweakerAPI.getAccessibleElementsProvider().registryAccess() : null;
+        final Environment environment = ENVIRONMENTS.get(loader.name());
+        if(environment != null && environment.tagGeneration() == tagGeneration && environment.registries() == registries) {
+            return environment.hash();
+        }
+        
+        final HashCode hash = computeEnvironment(loader);
+        ENVIRONMENTS.put(loader.name(), new Environment(tagGeneration, registries, hash));
+        return hash;
+    }
+    
+    private static HashCode computeEnvironment(final IScriptLoader loader) {
+        
+        final IZenClassRegistry.IClassData data = CraftTweakerAPI.getRegistry().getZenClassRegistry().getClassData(loader);
+        final Stream<String> classes = data.registeredClasses().stream().map(Class::getName);
+        final Stream<String> names = Stream.of(data.classes().entrySet(), data.globals().entrySet(), data.expansions().entries())
+                .flatMap(Collection::stream)
+                .map(it -> it.getKey() + '=' + it.getValue().getName());
+        // Classes can change without changing their names, so any mod update has to invalidate the cache too
+        final Stream<String> mods = Services.PLATFORM.getMods().stream().map(it -> it.id() + '@' + it.version());
+        // Compiling validates brackets, so datapacks adding or removing entries and tags have to invalidate it as well
+        final Stream<String> entries = registryEntries();
+        final Stream<String> tags = CraftTweakerTagRegistry.INSTANCE.managers()
+                .stream()
+                .flatMap(manager -> manager.tagMap().keySet().stream().map(id -> manager.tagFolder() + '#' + id));
+        
+        final Hasher hasher = Hashing.sha256().newHasher();
+        Stream.of(classes, names, mods, entries, tags)
+                .flatMap(Function.identity())
+                .sorted()
+                .forEachOrdered(it -> hasher.putString(it, StandardCharsets.UTF_8).putChar('\n'));
+        return hasher.hash();
+    }
+    
+    private static Stream<String> registryEntries() {
+        
+        if(!CraftTweakerAPI.getAccessibleElementsProvider().hasRegistryAccess()) {
+            return Stream.empty();
+        }
+        return CraftTweakerAPI.getAccessibleElementsProvider()
+                .registryAccess()
+                .registries()
+                .flatMap(it -> it.value().keySet().stream().map(id -> it.key().location() + "/" + id));
+    }
+    
+    /**
+     * Finds the compiled scripts for the given fingerprint, either in memory or on disk, logging how many files changed
+     * if there are none.
+     *
+     * @param fingerprint The fingerprint of the sources that are about to be run.
+     *
+     * @return The compiled scripts and their compile log, if the sources did not change since they were compiled.
+     */
+    Optional<Entry> find(final Fingerprint fingerprint) {
+        
+        final Entry entry = this.entries.get(fingerprint.loader());
+        if(entry != null && entry.fingerprint().equals(fingerprint)) {
+            return Optional.of(entry);
+        }
+        
+        final Optional<Entry> fromDisk = this.load(fingerprint);
+        if(fromDisk.isPresent()) {
+            this.entries.put(fingerprint.loader(), fromDisk.get());
+            return fromDisk;
+        }
+        
+        if(entry != null && CraftTweakerAPI.LOGGER.isDebugEnabled()) {
+            final Map<String, HashCode> previous = new HashMap<>();
+            entry.fingerprint().files().forEach(it -> previous.put(it.name(), it.hash()));
+            final long changed = fingerprint.files()
+                    .stream()
+                    .filter(it -> !it.hash().equals(previous.remove(it.name())))
+                    .count();
+            CraftTweakerAPI.LOGGER.debug(
+                    "{} scripts changed and {} were removed since the last run of loader '{}'",
+                    changed,
+                    previous.size(),
+                    fingerprint.loader()
+            );
+        }
+        return Optional.empty();
+    }
+    
+    void store(final Fingerprint fingerprint, final List<CompileLog.Line> log, final JavaBytecodeRunUnit unit) {
+        
+        this.entries.put(fingerprint.loader(), new Entry(fingerprint, () -> run(unit), log));
+        this.save(fingerprint, log, unit);
+    }
+    
+    private Optional<Entry> load(final Fingerprint fingerprint) {
+        
+        if(!DISK_CACHE) {
+            return Optional.empty();
+        }
+        
+        final Path directory = directoryFor(fingerprint);
+        if(!Files.exists(directory.resolve(COMPLETE_MARKER))) {
+            return Optional.empty();
+        }
+        
+        try {
+            final Map<String, byte[]> classes = new HashMap<>();
+            try(final Stream<Path> files = Files.walk(directory)) {
+                for(final Path file : (Iterable<Path>) files.filter(it -> it.toString().endsWith(CLASS_EXTENSION))::iterator) {
+                    final String relative = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), ".");
+                    classes.put(relative.substring(0, relative.length() - CLASS_EXTENSION.length()), Files.readAllBytes(file));
+                }
+            }
+            
+            final List<CompileLog.Line> log;
+            try(final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(directory.resolve(COMPILE_LOG))))) {
+                log = CompileLog.read(in);
+            }
+            
+            entryPoint(classes); // Fail early if the cached classes are unusable
+            CraftTweakerAPI.LOGGER.debug("Loaded {} compiled classes for loader '{}' from {}", classes.size(), fingerprint.loader(), directory);
+            return Optional.of(new Entry(fingerprint, () -> run(classes), log));
+        } catch(final IOException | ReflectiveOperationException e) {
+            CraftTweakerAPI.LOGGER.warn("Unable to load cached scripts for loader '{}': they will be compiled again", fingerprint.loader(), e);
+            return Optional.empty();
+        }
+    }
+    
+    private void save(final Fingerprint fingerprint, final List<CompileLog.Line> log, final JavaBytecodeRunUnit unit) {
+        
+        if(!DISK_CACHE) {
+            return;
+        }
+        
+        final Path directory = directoryFor(fingerprint);
+        Path temporary = null;
+        try {
+            // The entry is completed next to the current ones, so that a failure leaves the previous entry usable
+            Files.createDirectories(directory.getParent());
+            temporary = Files.createTempDirectory(directory.getParent(), TEMPORARY_PREFIX);
+            unit.dump(temporary.toFile()); // FIXME("Make ZenCode use NIO")
+            try(final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary.resolve(COMPILE_LOG))))) {
+                CompileLog.write(log, out);
+            }
+            Files.createFile(temporary.resolve(COMPLETE_MARKER));
+            
+            delete(directory);
+            Files.move(temporary, directory, StandardCopyOption.ATOMIC_MOVE);
+            temporary = null;
+        } catch(final IOException | RuntimeException e) {
+            CraftTweakerAPI.LOGGER.warn("Unable to cache compiled scripts for loader '{}'", fingerprint.loader(), e);
+            deleteQuietly(temporary);
+            return;
+        }
+        
+        prune(directory);
+    }
+    
+    private static void prune(final Path kept) {
+        
+        try(final Stream<Path> siblings = Files.list(kept.getParent())) {
+            siblings.filter(it -> !it.equals(kept)).forEach(CompiledScriptCache::deleteQuietly);
+        } catch(final IOException e) {
+            CraftTweakerAPI.LOGGER.debug("Unable to prune old compiled scripts in {}", kept.getParent(), e);
+        }
+    }
+    
+    private static void deleteQuietly(final Path directory) {
+        
+        if(directory == null) {
+            return;
+        }
+        
+        try {
+            delete(directory);
+        } catch(final IOException e) {
+            CraftTweakerAPI.LOGGER.debug("Unable to delete {}", directory, e);
+        }
+    }
+    
+    private static Path directoryFor(final Fingerprint fingerprint) {
+        
+        return PathUtil.findFromGameDirectory(CACHE_DIRECTORY).resolve(fingerprint.loader()).resolve(fingerprint.key().toString());
+    }
+    
+    private static void delete(final Path directory) throws IOException {
+        
+        if(!Files.exists(directory)) {
+            return;
+        }
+        
+        try(final Stream<Path> files = Files.walk(directory)) {
+            for(final Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+    
+    private static MethodHandle entryPoint(final Map<String, byte[]> classes) throws ReflectiveOperationException {
+        
+        // Every run gets its own class loader, so that no static state leaks from one run to the next
+        final ClassLoader loader = new CachedClassLoader(classes, ScriptRunner.class.getClassLoader());
+        return MethodHandles.publicLookup()
+                .findStatic(loader.loadClass(ENTRY_POINT_CLASS), ENTRY_POINT_METHOD, MethodType.methodType(void.class));
+    }
+    
+    static void run(final JavaBytecodeRunUnit unit) {
+        
+        unit.run(Collections.emptyMap(), ScriptRunner.class.getClassLoader());
+    }
+    
+    private static void run(final Map<String, byte[]> classes) {
+        
+        try {
+            entryPoint(classes).invokeExact();
+        } catch(final RuntimeException | Error e) {
+            throw e;
+        } catch(final Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+    
+}
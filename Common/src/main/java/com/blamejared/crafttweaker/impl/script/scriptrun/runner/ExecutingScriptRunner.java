@@ -1,25 +1,57 @@
 package com.blamejared.crafttweaker.impl.script.scriptrun.runner;
 
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptRunInfo;
 import org.openzen.zencode.java.logger.ScriptingEngineLogger;
 import org.openzen.zencode.shared.SourceFile;
 import org.openzen.zenscript.codemodel.SemanticModule;
+import org.openzen.zenscript.javabytecode.JavaBytecodeRunUnit;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 final class ExecutingScriptRunner extends ScriptRunner {
     
+    private final CompileLog log;
+    private final Optional<CompiledScriptCache.Fingerprint> fingerprint;
+    
     ExecutingScriptRunner(final IScriptRunInfo runInfo, final List<SourceFile> sources, final ScriptingEngineLogger logger) {
         
-        super(runInfo, sources, logger);
+        this(runInfo, sources, new CompileLog(logger));
+    }
+    
+    private ExecutingScriptRunner(final IScriptRunInfo runInfo, final List<SourceFile> sources, final CompileLog log) {
+        
+        super(runInfo, sources, log);
+        this.log = log;
+        // Dumping classes requires going through the engine, so caching is disabled in that case
+        this.fingerprint = runInfo.dumpClasses() ? Optional.empty() : CompiledScriptCache.fingerprint(runInfo, this.sources());
+    }
+    
+    @Override
+    protected boolean runPreviouslyCompiled() {
+        
+        final Optional<CompiledScriptCache.Entry> entry = this.fingerprint.flatMap(CompiledScriptCache.INSTANCE::find);
+        if(entry.isEmpty()) {
+            return false;
+        }
+        
+        CraftTweakerAPI.LOGGER.info("Scripts, registries and tags for loader '{}' did not change since the scripts were last compiled: skipping compilation", this.runInfo().loader().name());
+        // Warnings reported while compiling have to show up on every run, not only on the one that compiled the scripts
+        this.log.stop();
+        CompileLog.replay(entry.get().log(), this.log, this.sources());
+        entry.get().scripts().run();
+        return true;
     }
     
     @Override
     protected void executeRunAction(final SemanticModule module) {
         
+        final List<CompileLog.Line> compileLog = this.log.stop();
         this.engine().registerCompiled(module);
-        this.engine().run(Collections.emptyMap(), ScriptRunner.class.getClassLoader());
+        final JavaBytecodeRunUnit unit = this.engine().createRunUnit();
+        this.fingerprint.ifPresent(it -> CompiledScriptCache.INSTANCE.store(it, compileLog, unit));
+        CompiledScriptCache.run(unit);
     }
     
 }
@@ -65,6 +65,10 @@ sealed abstract class ScriptRunner implements IScriptRunner permits ExecutingScr
     
     public final void run() throws Exception {
         
+        if(this.runPreviouslyCompiled()) {
+            return;
+        }
+        
         final BracketExpressionParser parser = this.initializeEngine();
         this.runScripts(parser);
     }
@@ -95,6 +99,11 @@ sealed abstract class ScriptRunner implements IScriptRunner permits ExecutingScr
     
     protected abstract void executeRunAction(final SemanticModule module);
     
+    protected boolean runPreviouslyCompiled() {
+        
+        return false;
+    }
+    
     private Collection<DecoratedJavaNativeModule> populateModules(
             final CtJavaNativeConverterBuilder builder,
             final ICraftTweakerRegistry registry,
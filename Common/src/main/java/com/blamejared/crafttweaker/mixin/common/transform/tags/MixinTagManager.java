@@ -3,7 +3,9 @@ package com.blamejared.crafttweaker.mixin.common.transform.tags;
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
 import com.blamejared.crafttweaker.api.CraftTweakerConstants;
 import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
+import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptDiscoveryConfiguration;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptRunConfiguration;
+import com.blamejared.crafttweaker.impl.script.scriptrun.ScriptRunManager;
 import com.blamejared.crafttweaker.platform.helper.IAccessibleServerElementsProvider;
 import net.minecraft.core.RegistryAccess;
 import net.minecraft.tags.TagManager;
@@ -43,9 +45,14 @@ public class MixinTagManager {
             );
             
             try {
-                CraftTweakerAPI.getScriptRunManager()
-                        .createScriptRun(configuration)
-                        .execute();
+                // Reads the scripts through the snapshot of this reload, which the script reload listener shares
+                final ScriptRunManager manager = ScriptRunManager.get();
+                manager.createScriptRun(
+                        manager.reloadSnapshot((TagManager) (Object) this),
+                        CraftTweakerAPI.getScriptsDirectory(),
+                        new ScriptDiscoveryConfiguration(ScriptDiscoveryConfiguration.SuspiciousNamesBehavior.WARN),
+                        configuration
+                ).execute();
             } catch(final Throwable e) {
                 CraftTweakerAPI.LOGGER.error("Unable to run tag scripts due to an error", e);
             }
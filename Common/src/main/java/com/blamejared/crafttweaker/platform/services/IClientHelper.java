@@ -3,6 +3,7 @@ package com.blamejared.crafttweaker.platform.services;
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
 import com.blamejared.crafttweaker.api.entity.INameTagFunction;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.ingredient.IngredientItemIndex;
 import com.blamejared.crafttweaker.api.item.IItemStack;
 import com.blamejared.crafttweaker.api.item.tooltip.ITooltipFunction;
 import com.blamejared.crafttweaker.platform.Services;
@@ -14,6 +15,7 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -21,7 +23,8 @@ import java.util.function.Predicate;
 
 public interface IClientHelper {
     
-    Map<IIngredient, LinkedList<ITooltipFunction>> TOOLTIPS = new HashMap<>();
+    Map<IIngredient, LinkedList<ITooltipFunction>> TOOLTIPS = new LinkedHashMap<>();
+    IngredientItemIndex<LinkedList<ITooltipFunction>> TOOLTIP_INDEX = new IngredientItemIndex<>();
     Map<Predicate<Entity>, INameTagFunction> NAMETAGS = new HashMap<>();
     
     default boolean isSingleplayer() {
@@ -53,22 +56,34 @@ public interface IClientHelper {
         return TOOLTIPS;
     }
     
+    /**
+     * Gets the index used to dispatch the tooltip functions of {@link #getTooltips()} to the stacks they apply to.
+     *
+     * <p>The index must be kept in sync with the tooltip map: every key of the map is registered in the index with its
+     * list of functions as the value.</p>
+     *
+     * @return The tooltip dispatch index.
+     */
+    default IngredientItemIndex<LinkedList<ITooltipFunction>> getTooltipIndex() {
+        
+        return TOOLTIP_INDEX;
+    }
+    
     default void applyTooltips(ItemStack stack, TooltipFlag context, List<Component> lines) {
         
+        final IngredientItemIndex<LinkedList<ITooltipFunction>> index = Services.CLIENT.getTooltipIndex();
+        if(index.isEmpty()) {
+            return;
+        }
         IItemStack ctStack = IItemStack.of(stack);
-        for(IIngredient ingredient : Services.CLIENT.getTooltips().keySet()) {
-            if(!ingredient.matches(ctStack)) {
-                continue;
+        index.forEachMatch(ctStack, (ingredient, functions) -> functions.forEach(function -> {
+            try {
+                function.apply(ctStack, lines, context);
+            } catch(final Exception exception) {
+                CraftTweakerAPI.LOGGER.error("Unable to run one of the tooltip functions for {} on {} due to an error (for experts, refer to {})", ingredient.getCommandString(), ctStack.getCommandString(), function.getClass()
+                        .getName(), exception);
             }
-            Services.CLIENT.getTooltips().get(ingredient).forEach(function -> {
-                try {
-                    function.apply(ctStack, lines, context);
-                } catch(final Exception exception) {
-                    CraftTweakerAPI.LOGGER.error("Unable to run one of the tooltip functions for {} on {} due to an error (for experts, refer to {})", ingredient.getCommandString(), ctStack.getCommandString(), function.getClass()
-                            .getName(), exception);
-                }
-            });
-        }
+        }));
     }
     
 }
@@ -5,7 +5,9 @@ import com.blamejared.crafttweaker.api.command.CommandUtilities;
 import com.blamejared.crafttweaker.api.data.IData;
 import com.blamejared.crafttweaker.api.data.MapData;
 import com.blamejared.crafttweaker.api.data.visitor.DataToTextComponentVisitor;
+import com.blamejared.crafttweaker.api.ingredient.BurnTimeIndex;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.ingredient.IngredientItemIndex;
 import com.blamejared.crafttweaker.api.item.IItemStack;
 import com.blamejared.crafttweaker.api.item.attribute.ItemAttributeModifierBase;
 import com.blamejared.crafttweaker.api.util.AttributeUtil;
@@ -35,23 +37,50 @@ import net.minecraft.world.phys.BlockHitResult;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 public interface IEventHelper {
     
     Map<RecipeType<?>, List<Pair<IIngredient, Integer>>> BURN_TIMES = new HashMap<>();
+    Map<RecipeType<?>, BurnTimeIndex> BURN_TIME_INDICES = new ConcurrentHashMap<>();
     
     Set<Player> BLOCK_INFO_PLAYERS = new HashSet<>();
     Set<Player> ENTITY_INFO_PLAYERS = new HashSet<>();
     
-    Map<IIngredient, List<Consumer<ItemAttributeModifierBase>>> ATTRIBUTE_MODIFIERS = new HashMap<>();
+    Map<IIngredient, List<Consumer<ItemAttributeModifierBase>>> ATTRIBUTE_MODIFIERS = new LinkedHashMap<>();
+    IngredientItemIndex<List<Consumer<ItemAttributeModifierBase>>> ATTRIBUTE_MODIFIER_INDEX = new IngredientItemIndex<>();
     
     default void setBurnTime(IIngredient ingredient, int burnTime, RecipeType<?> type) {
         
         getBurnTimes().computeIfAbsent(type, recipeType -> new ArrayList<>()).add(Pair.of(ingredient, burnTime));
+        invalidateBurnTimes(type);
+    }
+    
+    /**
+     * Finds the burn time scripts assigned to the given stack for the given recipe type.
+     *
+     * @return The burn time of the last matching ingredient, or {@link BurnTimeIndex#NONE} if there is none.
+     */
+    default int findBurnTime(RecipeType<?> type, ItemStack stack) {
+        
+        List<Pair<IIngredient, Integer>> burnTimes = getBurnTimes().get(type);
+        if(burnTimes == null || burnTimes.isEmpty()) {
+            return BurnTimeIndex.NONE;
+        }
+        return BURN_TIME_INDICES.computeIfAbsent(type, it -> BurnTimeIndex.of(burnTimes)).find(stack);
+    }
+    
+    /**
+     * Discards the compiled burn times of the given recipe type, which must be called whenever its list changes.
+     */
+    default void invalidateBurnTimes(RecipeType<?> type) {
+        
+        BURN_TIME_INDICES.remove(type);
     }
     
     int getBurnTime(IItemStack stack);
@@ -66,13 +95,26 @@ public interface IEventHelper {
         return ATTRIBUTE_MODIFIERS;
     }
     
+    /**
+     * Gets the index used to dispatch the modifiers of {@link #getAttributeModifiers()} to the stacks they apply to.
+     *
+     * <p>The index must be kept in sync with the attribute modifier map: every key of the map is registered in the index
+     * with its list of modifiers as the value.</p>
+     *
+     * @return The attribute modifier dispatch index.
+     */
+    default IngredientItemIndex<List<Consumer<ItemAttributeModifierBase>>> getAttributeModifierIndex() {
+        
+        return ATTRIBUTE_MODIFIER_INDEX;
+    }
+    
     default void applyAttributeModifiers(ItemAttributeModifierBase modifierBase) {
         
         ItemStack stack = modifierBase.getItemStack();
         if(stack.hasTag()) {
             CompoundTag crtData = stack.getTagElement(IItemStack.CRAFTTWEAKER_DATA_KEY);
             if(crtData != null) {
-                AttributeUtil.getAttributeModifiers(stack, modifierBase.getSlotType())
+                AttributeUtil.findAttributeModifiers(crtData, modifierBase.getSlotType())
                         .forEach((attribute, modifiers) -> modifiers.forEach(modifier -> {
                             // Multimaps are possibly one of the dumbest things I've come across.
                             // So we have to remove the value before we add the value.
@@ -86,16 +128,15 @@ public interface IEventHelper {
             }
         }
         
-        IItemStack keyStack = IItemStack.of(stack);
-        for(Map.Entry<IIngredient, List<Consumer<ItemAttributeModifierBase>>> entry : Services.EVENT.getAttributeModifiers()
-                .entrySet()) {
-            
-            if(entry.getKey().matches(keyStack)) {
-                for(Consumer<ItemAttributeModifierBase> modifiers : entry.getValue()) {
-                    modifiers.accept(modifierBase);
-                }
-            }
+        final IngredientItemIndex<List<Consumer<ItemAttributeModifierBase>>> index = Services.EVENT.getAttributeModifierIndex();
+        if(index.isEmpty()) {
+            return;
         }
+        index.forEachMatch(IItemStack.of(stack), (ingredient, modifiers) -> {
+            for(Consumer<ItemAttributeModifierBase> modifier : modifiers) {
+                modifier.accept(modifierBase);
+            }
+        });
     }
     
     
@@ -25,6 +25,8 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.storage.loot.LootContext;
+import net.minecraft.world.level.storage.loot.predicates.LootItemCondition;
 
 import java.lang.annotation.Annotation;
 import java.nio.file.Path;
@@ -95,6 +97,32 @@ public interface IPlatformHelper {
     
     Map<ResourceLocation, ILootModifier> getLootModifiersMap();
     
+    /**
+     * Gets the constraint the given condition puts on the ID of the loot table that is being rolled, if the condition
+     * only depends on that ID.
+     *
+     * @param condition The condition to inspect.
+     *
+     * @return A predicate that tests loot table IDs in the same way the condition does, if the condition only checks
+     * the loot table ID.
+     */
+    default Optional<Predicate<ResourceLocation>> getLootTableIdFilter(LootItemCondition condition) {
+        
+        return Optional.empty();
+    }
+    
+    /**
+     * Gets the ID of the loot table that is being rolled in the given context, if the platform tracks it.
+     *
+     * @param context The context of the loot roll.
+     *
+     * @return The ID of the loot table being rolled, if known.
+     */
+    default Optional<ResourceLocation> getQueriedLootTableId(LootContext context) {
+        
+        return Optional.empty();
+    }
+    
     IInventoryWrapper getPlayerInventory(Player player);
     
     default boolean canItemStacksStack(ItemStack first, ItemStack second) {
@@ -176,6 +176,28 @@ public interface IRegistryHelper {
                 .orElseThrow(() -> new RuntimeException("Unable to make holder for registry: " + registry + " and object: " + object));
     }
     
+    default <T> Optional<Holder<T>> findHolder(ResourceKey<?> resourceKey, T object) {
+        
+        if(!CraftTweakerAPI.getAccessibleElementsProvider().hasRegistryAccess()) {
+            return Optional.empty();
+        }
+        return CraftTweakerAPI.getAccessibleElementsProvider()
+                .registryAccess()
+                .<T> registry(GenericUtil.uncheck(resourceKey))
+                .flatMap(registry -> registry.getResourceKey(object).flatMap(registry::getHolder));
+    }
+    
+    default <T> Optional<Holder<T>> findHolder(ResourceKey<?> resourceKey, ResourceLocation key) {
+        
+        if(!CraftTweakerAPI.getAccessibleElementsProvider().hasRegistryAccess()) {
+            return Optional.empty();
+        }
+        return CraftTweakerAPI.getAccessibleElementsProvider()
+                .registryAccess()
+                .<T> registry(GenericUtil.uncheck(resourceKey))
+                .flatMap(registry -> registry.getHolder(ResourceKey.create(registry.key(), key)));
+    }
+    
     default <T> Holder<T> makeHolder(ResourceKey<?> resourceKey, ResourceLocation key) {
         
         Registry<T> registry = CraftTweakerAPI.getAccessibleElementsProvider()
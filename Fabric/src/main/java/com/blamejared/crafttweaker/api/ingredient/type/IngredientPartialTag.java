@@ -1,8 +1,7 @@
 package com.blamejared.crafttweaker.api.ingredient.type;
 
-import com.blamejared.crafttweaker.api.data.MapData;
-import com.blamejared.crafttweaker.api.data.converter.tag.TagToDataConverter;
 import com.blamejared.crafttweaker.api.ingredient.serializer.IngredientPartialTagSerializer;
+import com.blamejared.crafttweaker.api.util.PartialTagMatcher;
 import com.faux.ingredientextension.api.ingredient.IngredientExtendable;
 import com.faux.ingredientextension.api.ingredient.serializer.IIngredientSerializer;
 import net.minecraft.nbt.CompoundTag;
@@ -15,11 +14,14 @@ import java.util.stream.Stream;
 public class IngredientPartialTag extends IngredientExtendable {
     
     private final ItemStack stack;
+    @Nullable
+    private final PartialTagMatcher matcher;
     
     public IngredientPartialTag(ItemStack stack) {
         
         super(Stream.of(new Ingredient.ItemValue(stack)));
         this.stack = stack;
+        this.matcher = stack.hasTag() ? PartialTagMatcher.of(stack.getTag()) : null;
     }
     
     @Override
@@ -33,18 +35,8 @@ public class IngredientPartialTag extends IngredientExtendable {
         if(stack1Tag == null && stack2Tag == null) {
             return true;
         }
-        // Lets just use the partial nbt
-        MapData stack2Data = (MapData) TagToDataConverter.convert(stack2Tag);
-        MapData stack1Data = (MapData) TagToDataConverter.convert(stack1Tag);
-        boolean contains;
-        if(stack1Data == null) {
-            contains = true;
-        } else {
-            contains = stack2Data != null && stack2Data.contains(stack1Data);
-        }
-        
-        
-        return this.stack.getItem() == input.getItem() && this.stack.getDamageValue() == input.getDamageValue() && contains;
+        // The tag is checked last, as it is the most expensive part of the match
+        return this.stack.getItem() == input.getItem() && this.stack.getDamageValue() == input.getDamageValue() && (this.matcher == null || this.matcher.matches(stack2Tag));
     }
     
     @Override
@@ -1,8 +1,8 @@
 package com.blamejared.crafttweaker.api.loot;
 
 import com.blamejared.crafttweaker.api.loot.modifier.ILootModifier;
+import com.blamejared.crafttweaker.api.loot.modifier.LootModifierPipeline;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
-import net.minecraft.Util;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.storage.loot.LootContext;
@@ -27,13 +27,6 @@ public enum LootModifierManager {
     
     public ObjectArrayList<ItemStack> applyModifiers(final ObjectArrayList<ItemStack> generatedLoot, final LootContext context) {
         
-        return this.modifiers()
-                .values()
-                .stream()
-                .reduce(
-                        generatedLoot,
-                        (loot, modifier) -> modifier.doApply(loot, context),
-                        (lootA, lootB) -> Util.make(lootA, a -> a.addAll(lootB))
-                );
+        return LootModifierPipeline.apply(generatedLoot, context, this.modifiers().values());
     }
 }
@@ -1,8 +1,7 @@
 package com.blamejared.crafttweaker.api.ingredient.type;
 
-import com.blamejared.crafttweaker.api.data.IData;
-import com.blamejared.crafttweaker.api.data.converter.tag.TagToDataConverter;
 import com.blamejared.crafttweaker.api.ingredient.serializer.IngredientPartialTagSerializer;
+import com.blamejared.crafttweaker.api.util.PartialTagMatcher;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import net.minecraft.core.Registry;
@@ -19,11 +18,14 @@ import java.util.stream.Stream;
 public class IngredientPartialTag extends Ingredient {
     
     private final ItemStack stack;
+    @Nullable
+    private final PartialTagMatcher matcher;
     
     public IngredientPartialTag(ItemStack stack) {
         
         super(Stream.of(new Ingredient.ItemValue(stack)));
         this.stack = stack;
+        this.matcher = stack.hasTag() ? PartialTagMatcher.of(stack.getTag()) : null;
     }
     
     @Override
@@ -37,17 +39,8 @@ public class IngredientPartialTag extends Ingredient {
         if(stack1Tag == null && stack2Tag == null) {
             return true;
         }
-        // Lets just use the partial nbt
-        IData stack2Data = TagToDataConverter.convert(stack2Tag);
-        IData stack1Data = TagToDataConverter.convert(stack1Tag);
-        boolean contains;
-        if(stack1Data == null) {
-            contains = true;
-        } else {
-            contains = stack2Data != null && stack2Data.contains(stack1Data);
-        }
-        
-        return this.stack.getItem() == input.getItem() && this.stack.getDamageValue() == input.getDamageValue() && contains;
+        // The tag is checked last, as it is the most expensive part of the match
+        return this.stack.getItem() == input.getItem() && this.stack.getDamageValue() == input.getDamageValue() && (this.matcher == null || this.matcher.matches(stack2Tag));
     }
     
     @Override
@@ -3,7 +3,7 @@ package com.blamejared.crafttweaker.impl.event;
 import com.blamejared.crafttweaker.CraftTweakerCommon;
 import com.blamejared.crafttweaker.api.CraftTweakerConstants;
 import com.blamejared.crafttweaker.api.action.villager.ActionTradeBase;
-import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.ingredient.BurnTimeIndex;
 import com.blamejared.crafttweaker.api.item.attribute.ItemAttributeModifierBase;
 import com.blamejared.crafttweaker.api.logger.CraftTweakerLogger;
 import com.blamejared.crafttweaker.api.util.sequence.SequenceManager;
@@ -103,12 +103,11 @@ public class CTCommonEventHandler {
     public static void burnTimeTweaker(FurnaceFuelBurnTimeEvent e) {
         
         final RecipeType<?> recipeType = e.getRecipeType() != null ? e.getRecipeType() : RecipeType.SMELTING;
-        Services.EVENT.getBurnTimes()
-                .getOrDefault(recipeType, List.of())
-                .stream()
-                .filter(pair -> pair.getFirst().matches(IItemStack.of(e.getItemStack())))
-                // This should use the burn time of the last matching ingredient
-                .forEach(pair -> e.setBurnTime(pair.getSecond()));
+        // This uses the burn time of the last matching ingredient
+        final int burnTime = Services.EVENT.findBurnTime(recipeType, e.getItemStack());
+        if(burnTime != BurnTimeIndex.NONE) {
+            e.setBurnTime(burnTime);
+        }
     }
     
     @SubscribeEvent
@@ -48,6 +48,11 @@ public class LootTableIdRegexCondition implements LootItemCondition {
         return builder(Pattern.compile(regex));
     }
     
+    public Pattern regex() {
+        
+        return this.regex;
+    }
+    
     @Override
     public LootItemConditionType getType() {
         
@@ -0,0 +1,14 @@
+package com.blamejared.crafttweaker.mixin.common.access.loot;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.common.loot.LootTableIdCondition;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(value = LootTableIdCondition.class, remap = false)
+public interface AccessLootTableIdCondition {
+    
+    @Accessor("targetLootTableId")
+    ResourceLocation crafttweaker$getTargetLootTableId();
+    
+}
@@ -13,7 +13,9 @@ import com.blamejared.crafttweaker.api.util.HandleUtil;
 import com.blamejared.crafttweaker.api.villager.CTTradeObject;
 import com.blamejared.crafttweaker.impl.loot.CraftTweakerPrivilegedLootModifierMap;
 import com.blamejared.crafttweaker.impl.loot.ForgeLootModifierMapAdapter;
+import com.blamejared.crafttweaker.impl.loot.LootTableIdRegexCondition;
 import com.blamejared.crafttweaker.mixin.common.access.food.AccessFoodPropertiesForge;
+import com.blamejared.crafttweaker.mixin.common.access.loot.AccessLootTableIdCondition;
 import com.blamejared.crafttweaker.mixin.common.access.villager.AccessBasicTrade;
 import com.blamejared.crafttweaker.platform.helper.inventory.IItemHandlerWrapper;
 import com.blamejared.crafttweaker.platform.services.IPlatformHelper;
@@ -39,10 +41,13 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.storage.loot.LootContext;
+import net.minecraft.world.level.storage.loot.predicates.LootItemCondition;
 import net.minecraftforge.common.BasicItemListing;
 import net.minecraftforge.common.ForgeInternalHandler;
 import net.minecraftforge.common.loot.IGlobalLootModifier;
 import net.minecraftforge.common.loot.LootModifierManager;
+import net.minecraftforge.common.loot.LootTableIdCondition;
 import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.data.loading.DatagenModLoader;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
@@ -70,6 +75,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 public class ForgePlatformHelper implements IPlatformHelper {
@@ -240,6 +246,26 @@ public class ForgePlatformHelper implements IPlatformHelper {
         }
     }
     
+    @Override
+    public Optional<Predicate<ResourceLocation>> getLootTableIdFilter(LootItemCondition condition) {
+        
+        if(condition instanceof LootTableIdCondition) {
+            final ResourceLocation id = ((AccessLootTableIdCondition) condition).crafttweaker$getTargetLootTableId();
+            return Optional.of(id::equals);
+        }
+        if(condition instanceof LootTableIdRegexCondition regexCondition) {
+            final Pattern regex = regexCondition.regex();
+            return Optional.of(id -> regex.matcher(id.toString()).matches());
+        }
+        return Optional.empty();
+    }
+    
+    @Override
+    public Optional<ResourceLocation> getQueriedLootTableId(LootContext context) {
+        
+        return Optional.of(context.getQueriedLootTableId());
+    }
+    
     @Override
     public IItemHandlerWrapper getPlayerInventory(Player player) {
         